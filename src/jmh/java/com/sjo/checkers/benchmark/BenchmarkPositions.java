@@ -0,0 +1,75 @@
+package com.sjo.checkers.benchmark;
+
+import com.sjo.checkers.model.*;
+
+import java.util.Random;
+
+/**
+ * Posiciones representativas para los benchmarks: apertura, medio juego y final de damas
+ */
+public enum BenchmarkPositions {
+
+    OPENING {
+        @Override
+        BitBoard board() {
+            return BitBoard.initial();
+        }
+    },
+
+    MIDDLEGAME {
+        @Override
+        BitBoard board() {
+            // Partida aleatoria con semilla fija: siempre la misma posición, con capturas a mano
+            BitBoard board = BitBoard.initial();
+            PieceColor side = PieceColor.WHITE;
+            Random random = new Random(7);
+            int[] buffer = new int[PackedMove.MAX_MOVES];
+            for (int ply = 0; ply < 24; ply++) {
+                int count = board.generateMoves(side, -1, buffer);
+                int move = buffer[random.nextInt(count)];
+                board.apply(move);
+                while (PackedMove.isCapture(move) && !PackedMove.isPromotion(move)
+                        && board.captureTargets(PackedMove.to(move)) != 0) {
+                    count = board.generateMoves(side, PackedMove.to(move), buffer);
+                    move = buffer[random.nextInt(count)];
+                    board.apply(move);
+                }
+                side = side == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+            }
+            return board;
+        }
+    },
+
+    KING_ENDGAME {
+        @Override
+        BitBoard board() {
+            BitBoard board = new BitBoard();
+            board.put(BitBoard.square(3, 2), PieceColor.WHITE, true);
+            board.put(BitBoard.square(4, 5), PieceColor.WHITE, true);
+            board.put(BitBoard.square(6, 1), PieceColor.WHITE, true);
+            board.put(BitBoard.square(1, 4), PieceColor.BLACK, true);
+            board.put(BitBoard.square(2, 7), PieceColor.BLACK, true);
+            board.put(BitBoard.square(5, 6), PieceColor.BLACK, false);
+            return board;
+        }
+    };
+
+    /**
+     * Fichas de la posición; juegan las blancas
+     */
+    abstract BitBoard board();
+
+    /**
+     * Partida en curso con la posición cargada y ambos jugadores sentados
+     */
+    Game game() {
+        Game game = new Game();
+        game.setId("benchmark");
+        game.setBoard(new Board(board()));
+        game.setWhitePlayer(new Player("Blancas", "white-session"));
+        game.setBlackPlayer(new Player("Negras", "black-session"));
+        game.setCurrentTurn(PieceColor.WHITE);
+        game.setStatus(GameStatus.IN_PROGRESS);
+        return game;
+    }
+}
@@ -0,0 +1,98 @@
+package com.sjo.checkers.benchmark;
+
+import com.sjo.checkers.model.*;
+import com.sjo.checkers.service.GameService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de un movimiento en el servidor: validación, ejecución y consultas sobre el tablero
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "KING_ENDGAME"})
+    private BenchmarkPositions position;
+
+    private final GameService gameService = new GameService();
+
+    private Game game;
+    private BitBoard start;
+    private int[] legalMoves;
+    private int next;
+
+    // Posición en la que la única captura deja a las negras sin fichas (fin de partida)
+    private Game finalGame;
+    private BitBoard finalStart;
+    private int finalMove;
+
+    @Setup
+    public void setup() {
+        game = position.game();
+        start = game.getBoard().getBits().copy();
+        int[] buffer = new int[PackedMove.MAX_MOVES];
+        legalMoves = Arrays.copyOf(buffer, start.generateMoves(PieceColor.WHITE, -1, buffer));
+
+        finalGame = BenchmarkPositions.OPENING.game();
+        BitBoard bits = finalGame.getBoard().getBits();
+        bits.copyFrom(new BitBoard());
+        bits.put(BitBoard.square(5, 2), PieceColor.WHITE, false);
+        bits.put(BitBoard.square(4, 3), PieceColor.BLACK, false);
+        finalStart = bits.copy();
+        finalMove = PackedMove.capture(BitBoard.square(5, 2), BitBoard.square(3, 4), BitBoard.square(4, 3), false);
+    }
+
+    /**
+     * Vuelve a la posición inicial del benchmark (el coste se incluye en la medida, es mínimo)
+     */
+    private static void restore(Game game, BitBoard start) {
+        game.getBoard().getBits().copyFrom(start);
+        game.setCurrentTurn(PieceColor.WHITE);
+        game.setCapturingSquare(-1);
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setWinner(null);
+        game.invalidateLegalMoves();
+    }
+
+    @Benchmark
+    public boolean executeMove() {
+        restore(game, start);
+        int move = legalMoves[next++ % legalMoves.length];
+        // Como llega del cliente: un Move nuevo con solo origen y destino
+        return gameService.executeMove(game, PackedMove.toMove(move));
+    }
+
+    @Benchmark
+    public boolean executeWinningMove() {
+        // Incluye checkWinCondition con la partida terminada
+        restore(finalGame, finalStart);
+        return gameService.executeMove(finalGame, PackedMove.toMove(finalMove));
+    }
+
+    @Benchmark
+    public boolean isValidMove() {
+        Board board = game.getBoard();
+        Move move = PackedMove.toMove(legalMoves[next++ % legalMoves.length]);
+        return gameService.isValidMove(board, board.getPiece(move.getFromRow(), move.getFromCol()), move);
+    }
+
+    @Benchmark
+    public List<Move> getAvailableCaptures() {
+        return gameService.getAvailableCaptures(game.getBoard(), PieceColor.WHITE);
+    }
+
+    @Benchmark
+    public void getPiecesByColor(Blackhole blackhole) {
+        blackhole.consume(game.getBoard().getPiecesByColor(PieceColor.WHITE));
+        blackhole.consume(game.getBoard().getPiecesByColor(PieceColor.BLACK));
+    }
+}
@@ -0,0 +1,103 @@
+package com.sjo.checkers.benchmark;
+
+import com.sjo.checkers.dto.GameDeltaResponse;
+import com.sjo.checkers.dto.GameStateResponse;
+import com.sjo.checkers.model.BoardCodec;
+import com.sjo.checkers.model.Game;
+import com.sjo.checkers.model.PackedMove;
+import com.sjo.checkers.model.ProtocolVersion;
+import com.sjo.checkers.service.GameService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización a JSON de lo que se envía a /topic/game/{roomId}: estado completo y cambios
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateSerializationBenchmark {
+
+    @Param({"OPENING", "MIDDLEGAME", "KING_ENDGAME"})
+    private BenchmarkPositions position;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final GameService gameService = new GameService();
+
+    private Game game;
+    private int[] lastMove;
+
+    @Setup
+    public void setup() {
+        game = position.game();
+        int[] buffer = new int[PackedMove.MAX_MOVES];
+        game.getBoard().getBits().generateMoves(game.getCurrentTurn(), -1, buffer);
+        lastMove = new int[]{buffer[0]};
+        game.recordMove(buffer[0]);
+    }
+
+    @Benchmark
+    public byte[] serializeGameState() {
+        // Igual que GameWebSocketController.sendGameState: respuesta nueva por cada envío
+        GameStateResponse response = new GameStateResponse(
+                "benchmark",
+                game.getBoard(),
+                game.getCurrentTurn(),
+                game.getStatus(),
+                game.getWhitePlayer().getNickname(),
+                game.getBlackPlayer().getNickname(),
+                null,
+                "Turno de blancas",
+                gameService.getLegalPaths(game),
+                game.getVersion(),
+                ProtocolVersion.GRID,
+                null,
+                null
+        );
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeCompactGameState() {
+        // Versión COMPACT del protocolo: tablero codificado con BoardCodec
+        GameStateResponse response = new GameStateResponse(
+                "benchmark",
+                null,
+                game.getCurrentTurn(),
+                game.getStatus(),
+                game.getWhitePlayer().getNickname(),
+                game.getBlackPlayer().getNickname(),
+                null,
+                "Turno de blancas",
+                gameService.getLegalPaths(game),
+                game.getVersion(),
+                ProtocolVersion.COMPACT,
+                BoardCodec.encode(game.getBoard().getBits(), game.getCurrentTurn()),
+                null
+        );
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGameDelta() {
+        // Igual que GameWebSocketController.sendGameDelta tras un movimiento
+        GameDeltaResponse response = new GameDeltaResponse(
+                "benchmark",
+                game.getVersion() - 1,
+                game.getVersion(),
+                lastMove,
+                game.getCurrentTurn(),
+                game.getStatus(),
+                null,
+                "Turno de blancas",
+                gameService.getLegalSquarePaths(game),
+                null
+        );
+        return mapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,123 @@
+package com.sjo.checkers.benchmark;
+
+import org.apache.commons.logging.LogFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.OrderedMessageChannelDecorator;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga sobre el canal de entrada de STOMP: muchas sesiones mandan a la vez mensajes cuyo
+ * manejo se bloquea un rato (escritura lenta en el socket, espera del buzón de la sala...).
+ * Compara el pool por defecto de Spring (2 hilos por núcleo) con hilos virtuales, en ambos
+ * casos manteniendo el orden de los mensajes de cada sesión.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StompChannelBenchmark {
+
+    public enum ChannelMode { PLATFORM, VIRTUAL }
+
+    private static final int MESSAGES_PER_SESSION = 4;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ChannelMode mode;
+
+    @Param({"100", "1000"})
+    private int sessions;
+
+    @Param({"1"})
+    private int blockMillis;
+
+    private ThreadPoolTaskExecutor platformPool;
+    private MessageChannel[] channels; // Como Spring: un decorador que ordena por cada sesión
+    private Message<?>[] messages;
+
+    // Por sesión, el siguiente número de secuencia esperado; cuenta los mensajes desordenados
+    private AtomicInteger[] expected;
+    private final AtomicInteger outOfOrder = new AtomicInteger();
+    private volatile CountDownLatch done;
+
+    @Setup
+    public void setup() {
+        Executor executor;
+        if (mode == ChannelMode.PLATFORM) {
+            // Mismos valores que el pool del canal de entrada que crea Spring por defecto
+            platformPool = new ThreadPoolTaskExecutor();
+            platformPool.setCorePoolSize(Runtime.getRuntime().availableProcessors() * 2);
+            platformPool.setAllowCoreThreadTimeOut(true);
+            platformPool.setThreadNamePrefix("stomp-inbound-");
+            platformPool.initialize();
+            executor = platformPool;
+        } else {
+            executor = new VirtualThreadTaskExecutor("stomp-inbound-");
+        }
+
+        ExecutorSubscribableChannel subscribable = new ExecutorSubscribableChannel(executor);
+        OrderedMessageChannelDecorator.configureInterceptor(subscribable, true);
+        subscribable.subscribe(message -> {
+            int session = (Integer) message.getHeaders().get("session");
+            int sequence = (Integer) message.getPayload();
+            if (!expected[session].compareAndSet(sequence, sequence + 1)) {
+                outOfOrder.incrementAndGet();
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(blockMillis));
+            done.countDown();
+        });
+
+        channels = new MessageChannel[sessions];
+        expected = new AtomicInteger[sessions];
+        messages = new Message<?>[sessions * MESSAGES_PER_SESSION];
+        for (int session = 0; session < sessions; session++) {
+            channels[session] = new OrderedMessageChannelDecorator(subscribable, LogFactory.getLog(StompChannelBenchmark.class));
+            expected[session] = new AtomicInteger();
+            for (int sequence = 0; sequence < MESSAGES_PER_SESSION; sequence++) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+                accessor.setSessionId("session-" + session);
+                accessor.setHeader("session", session);
+                accessor.setLeaveMutable(true);
+                messages[sequence * sessions + session] = MessageBuilder.createMessage(sequence, accessor.getMessageHeaders());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdown();
+        }
+        if (outOfOrder.get() > 0) {
+            throw new IllegalStateException(outOfOrder.get() + " mensajes fuera de orden");
+        }
+    }
+
+    /**
+     * Todas las sesiones envían sus mensajes intercalados; termina cuando se han manejado todos
+     */
+    @Benchmark
+    public void burst() throws InterruptedException {
+        for (AtomicInteger next : expected) {
+            next.set(0);
+        }
+        done = new CountDownLatch(messages.length);
+        for (Message<?> message : messages) {
+            channels[(Integer) message.getHeaders().get("session")].send(message);
+        }
+        done.await();
+    }
+}
@@ -2,8 +2,10 @@ package com.sjo.checkers;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CheckersApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CheckersApplication.class, args);
@@ -0,0 +1,30 @@
+package com.sjo.checkers.config;
+
+import com.sjo.checkers.journal.Durability;
+import com.sjo.checkers.journal.JournalWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Diario de las salas en disco. Con checkers.journal.enabled=false no hay diario: RoomJournal
+ * no guarda nada y no hay ni recuperación ni instantáneas.
+ */
+@Configuration
+public class JournalConfig {
+
+    public static final String ENABLED = "checkers.journal.enabled";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = ENABLED, matchIfMissing = true)
+    public JournalWriter journalWriter(@Value("${checkers.journal.dir:data/journal}") String directory,
+                                       @Value("${checkers.journal.durability:batched}") String durability,
+                                       @Value("${checkers.journal.batch-ms:5}") long batchMillis,
+                                       @Value("${checkers.journal.segment-mb:64}") long segmentMegabytes) {
+        return new JournalWriter(Path.of(directory), Durability.valueOf(durability.trim().toUpperCase().replace('-', '_')),
+                batchMillis, segmentMegabytes * 1024 * 1024);
+    }
+}
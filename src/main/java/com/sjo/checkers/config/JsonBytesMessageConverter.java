@@ -0,0 +1,32 @@
+package com.sjo.checkers.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Envía tal cual los mensajes que ya vienen serializados a JSON (byte[]) con content-type
+ * application/json, sin volver a pasar por Jackson
+ */
+public class JsonBytesMessageConverter extends AbstractMessageConverter {
+
+    public JsonBytesMessageConverter() {
+        super(MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return byte[].class == clazz;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return message.getPayload();
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return payload;
+    }
+}
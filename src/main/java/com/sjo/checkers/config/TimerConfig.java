@@ -0,0 +1,20 @@
+package com.sjo.checkers.config;
+
+import com.sjo.checkers.scheduler.TimerWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rueda de temporizadores compartida por toda la aplicación: jerárquica, de 4 niveles con
+ * checkers.timers.slots ranuras cada uno (por defecto 64 ranuras y ticks de 100 ms)
+ */
+@Configuration
+public class TimerConfig {
+
+    @Bean(destroyMethod = "close")
+    public TimerWheel timerWheel(@Value("${checkers.timers.tick-ms:100}") long tickMillis,
+                                 @Value("${checkers.timers.slots:64}") int slots) {
+        return new TimerWheel("checkers-timers", tickMillis, slots);
+    }
+}
@@ -1,23 +1,58 @@
 package com.sjo.checkers.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // Canales de entrada y salida de los clientes en hilos virtuales en lugar de los pools por defecto
+    @Value("${checkers.websocket.virtual-threads:false}")
+    private boolean virtualThreads;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        // Con hilos virtuales no hay límite de hilos: el orden por sesión lo mantiene Spring
+        config.setPreservePublishOrder(virtualThreads);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-checkers").setAllowedOriginPatterns("*").withSockJS();
+        registry.setPreserveReceiveOrder(virtualThreads);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-outbound-"));
+        }
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Los estados ya serializados (byte[]) salen como JSON; va el primero para adelantarse al
+        // conversor de byte[] por defecto (application/octet-stream) y el resto sigue igual
+        messageConverters.add(0, new JsonBytesMessageConverter());
+        return true;
     }
 }
\ No newline at end of file
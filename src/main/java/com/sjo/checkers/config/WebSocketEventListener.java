@@ -1,6 +1,9 @@
 package com.sjo.checkers.config;
 
-import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.*;
+import com.sjo.checkers.service.ClockService;
+import com.sjo.checkers.service.RoomExecutor;
+import com.sjo.checkers.service.RoomJournal;
 import com.sjo.checkers.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +22,9 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 public class WebSocketEventListener {
 
     private final RoomService roomService;
+    private final RoomExecutor roomExecutor;
+    private final RoomJournal roomJournal;
+    private final ClockService clockService;
 
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -35,29 +41,33 @@ public class WebSocketEventListener {
     }
 
     private void handlePlayerDisconnection(String sessionId) {
-        // Buscar en todas las salas si el jugador estaba en alguna
-        for (var room : roomService.getAvailableRooms()) {
-            var game = room.getGame();
-            boolean wasInRoom = false;
-
-            if (game.getWhitePlayer() != null &&
-                    game.getWhitePlayer().getSessionId().equals(sessionId)) {
-                wasInRoom = true;
-                log.info("Jugador blanco {} desconectado de la sala {}",
-                        game.getWhitePlayer().getNickname(), room.getId());
-            }
+        // El índice de asientos dice directamente en qué sala estaba la sesión
+        RoomService.Seat seat = roomService.releaseSession(sessionId);
+        if (seat == null) {
+            return;
+        }
+        Room room = roomService.getRoom(seat.roomId());
+        if (room == null) {
+            return;
+        }
 
-            if (game.getBlackPlayer() != null &&
-                    game.getBlackPlayer().getSessionId().equals(sessionId)) {
-                wasInRoom = true;
-                log.info("Jugador negro {} desconectado de la sala {}",
-                        game.getBlackPlayer().getNickname(), room.getId());
+        // El abandono se hace en el buzón de la sala, en orden con los movimientos
+        roomExecutor.execute(room, () -> {
+            Game game = room.getGame();
+            Player player = game.getPlayer(seat.color());
+            if (player == null || !sessionId.equals(player.getSessionId())) {
+                return;
             }
+            log.info("Jugador {} {} desconectado de la sala {}",
+                    seat.color() == PieceColor.WHITE ? "blanco" : "negro", player.getNickname(), room.getId());
 
-            if (wasInRoom && game.getStatus() == GameStatus.IN_PROGRESS) {
+            if (game.getStatus() == GameStatus.IN_PROGRESS) {
                 game.setStatus(GameStatus.ABANDONED);
                 log.info("Sala {} marcada como abandonada", room.getId());
+                clockService.arm(room); // Para el reloj y quita la caída de bandera pendiente
+                roomJournal.recordProgress(room);
+                roomService.refreshExpiry(room);
             }
-        }
+        });
     }
 }
\ No newline at end of file
@@ -2,18 +2,26 @@ package com.sjo.checkers.controller;
 
 import com.sjo.checkers.dto.*;
 import com.sjo.checkers.model.*;
+import com.sjo.checkers.service.BotService;
+import com.sjo.checkers.service.ClockService;
 import com.sjo.checkers.service.GameService;
+import com.sjo.checkers.service.GameStatePublisher;
+import com.sjo.checkers.service.LobbyPublisher;
+import com.sjo.checkers.service.RoomExecutor;
+import com.sjo.checkers.service.RoomJournal;
 import com.sjo.checkers.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controlador WebSocket para manejar los mensajes del juego
@@ -23,45 +31,77 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class GameWebSocketController {
 
+    private static final int LOBBY_SNAPSHOT_SIZE = 100;
+
     private final GameService gameService;
     private final RoomService roomService;
+    private final BotService botService;
+    private final GameStatePublisher statePublisher;
+    private final RoomExecutor roomExecutor;
+    private final LobbyPublisher lobbyPublisher;
+    private final ClockService clockService;
+    private final RoomJournal roomJournal;
     private final SimpMessagingTemplate messagingTemplate;
 
-    // Mapa para rastrear qué sessionId está en qué sala
-    private final Map<String, String> sessionToRoom = new ConcurrentHashMap<>();
-
     /**
      * Maneja cuando un jugador se une a una sala
      */
     @MessageMapping("/room/join")
     public void joinRoom(@Payload JoinRoomRequest request,SimpMessageHeaderAccessor headerAccessor) {
-        try {
-            String sessionId = headerAccessor.getSessionId();
-            log.info("Jugador {} (session: {}) intentando unirse a sala {}",
-                    request.getPlayerNickname(), sessionId, request.getRoomId());
-
-            if (!roomService.roomExists(request.getRoomId())) {
-                log.warn("Sala no existe: {}", request.getRoomId());
-                sendErrorToSession(sessionId, "La sala no existe");
-                return;
-            }
+        String sessionId = headerAccessor.getSessionId();
+        log.info("Jugador {} (session: {}) intentando unirse a sala {}",
+                request.getPlayerNickname(), sessionId, request.getRoomId());
+
+        Room room = roomService.getRoom(request.getRoomId());
+        if (room == null) {
+            log.warn("Sala no existe: {}", request.getRoomId());
+            sendErrorToSession(sessionId, "La sala no existe");
+            return;
+        }
 
-            Room room = roomService.getRoom(request.getRoomId());
+        roomExecutor.execute(room, () -> joinRoom(room, request, sessionId));
+    }
 
+    /**
+     * Unión a la sala, ya dentro de su buzón
+     */
+    private void joinRoom(Room room, JoinRoomRequest request, String sessionId) {
+        try {
             // Verificar si esta sesión ya está en la sala
-            if (sessionToRoom.containsKey(sessionId) && sessionToRoom.get(sessionId).equals(request.getRoomId())) {
+            RoomService.Seat seat = roomService.getSeat(sessionId);
+            if (seat != null && seat.roomId().equals(room.getId())) {
                 log.info("Sesión {} ya está en la sala {}, enviando estado actual",sessionId, request.getRoomId());
 
                 // Si la sala está llena, enviar estado del juego
                 if (room.isFull()) {
                     log.info("Sala llena, enviando estado del juego a sesión reconectada");
-                    sendGameState(room);
+                    statePublisher.publishSnapshot(room);
                 } else {
                     sendRoomUpdate(room, "Reconectado a la sala");
                 }
                 return;
             }
 
+            // Tras un reinicio, los asientos recuperados del diario esperan a que vuelva su jugador
+            Player returning = roomService.reclaimSeat(room, request.getReconnectToken(), sessionId);
+            if (returning != null) {
+                returning.setProtocolVersion(ProtocolVersion.negotiate(request.getProtocolVersion()));
+                log.info("Jugador {} recupera su asiento en sala {}", returning.getNickname(), room.getId());
+                if (!room.isFull()) {
+                    sendRoomUpdate(room, "Reconectado a la sala");
+                    return;
+                }
+                // El reloj sigue cuando están los dos
+                if (allSeated(room)) {
+                    clockService.arm(room);
+                }
+                statePublisher.publishSnapshot(room);
+                if (allSeated(room)) {
+                    botService.playIfBotTurn(room, () -> publishMove(room));
+                }
+                return;
+            }
+
             if (room.isFull()) {
                 log.warn("Sala llena: {}", request.getRoomId());
                 sendErrorToSession(sessionId, "La sala está llena");
@@ -69,14 +109,16 @@ public class GameWebSocketController {
             }
 
             Player player = new Player(request.getPlayerNickname(), sessionId);
+            player.setProtocolVersion(ProtocolVersion.negotiate(request.getProtocolVersion()));
             boolean joined = roomService.joinRoom(request.getRoomId(), player);
 
             if (joined) {
-                // Registrar que esta sesión se unió a esta sala
-                sessionToRoom.put(sessionId, room.getId());
-
                 log.info("Jugador {} se unió exitosamente a sala {} (Total: {}/2)",player.getNickname(), room.getId(), room.getPlayerCount());
 
+                // El token de reconexión solo lo recibe su sesión
+                sendToSession(sessionId, "/queue/seat",
+                        new SeatResponse(room.getId(), player.getColor().toString(), player.getReconnectToken()));
+
                 // Notificar a todos en la sala sobre el nuevo jugador
                 PlayerJoinedResponse response = new PlayerJoinedResponse(
                         room.getId(),
@@ -89,22 +131,42 @@ public class GameWebSocketController {
 
                 messagingTemplate.convertAndSend("/topic/room/" + room.getId(), response);
 
+                // En salas contra la computadora, ocupa el asiento libre
+                if (room.isVsComputer() && botService.seatBot(room) != null) {
+                    sendRoomUpdate(room, BotService.BOT_NICKNAME + " se ha unido a la sala");
+                }
+
                 // Si la sala está llena, iniciar el juego CON UN PEQUEÑO DELAY
                 if (room.isFull()) {
                     log.info("Sala {} completa con {} jugadores, enviando estado del juego",room.getId(), room.getPlayerCount());
 
-                    // Enviar el estado del juego inmediatamente
-                    sendGameState(room);
+                    // Enviar el estado del juego inmediatamente, con el reloj ya en marcha
+                    clockService.arm(room);
+                    statePublisher.publishSnapshot(room);
+                    botService.playIfBotTurn(room, () -> publishMove(room));
                 }
             } else {
                 sendErrorToSession(sessionId, "No se pudo unir a la sala");
             }
         } catch (Exception e) {
             log.error("Error al unirse a sala", e);
-            sendErrorToSession(headerAccessor.getSessionId(),"Error al unirse: " + e.getMessage());
+            sendErrorToSession(sessionId,"Error al unirse: " + e.getMessage());
         }
     }
 
+    /**
+     * Ningún jugador humano de la sala está esperando a recuperar su asiento
+     */
+    private static boolean allSeated(Room room) {
+        for (PieceColor color : PieceColor.values()) {
+            Player player = room.getGame().getPlayer(color);
+            if (player == null || (!player.isBot() && player.getSessionId() == null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Envía actualización de sala
      */
@@ -128,17 +190,24 @@ public class GameWebSocketController {
      */
     @MessageMapping("/game/move")
     public void makeMove(@Payload MoveRequest request,SimpMessageHeaderAccessor headerAccessor) {
-        try {
-            String sessionId = headerAccessor.getSessionId();
-            log.info("Movimiento recibido para sala {} de sesión {}",request.getRoomId(), sessionId);
+        String sessionId = headerAccessor.getSessionId();
+        log.info("Movimiento recibido para sala {} de sesión {}",request.getRoomId(), sessionId);
 
-            Room room = roomService.getRoom(request.getRoomId());
+        Room room = roomService.getRoom(request.getRoomId());
 
-            if (room == null) {
-                log.warn("Sala no encontrada: {}", request.getRoomId());
-                return;
-            }
+        if (room == null) {
+            log.warn("Sala no encontrada: {}", request.getRoomId());
+            return;
+        }
+
+        roomExecutor.execute(room, () -> makeMove(room, request, sessionId));
+    }
 
+    /**
+     * Movimiento, ya dentro del buzón de la sala: nadie más toca la partida mientras se valida y aplica
+     */
+    private void makeMove(Room room, MoveRequest request, String sessionId) {
+        try {
             // Obtener el jugador por sessionId
             Player player = roomService.getPlayerBySessionId(request.getRoomId(), sessionId);
             if (player == null) {
@@ -149,6 +218,13 @@ public class GameWebSocketController {
 
             Game game = room.getGame();
 
+            // Tras una caída de bandera, unas tablas o un abandono al rival aún le quedan movimientos legales
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                log.warn("Movimiento en sala {} con la partida {}", request.getRoomId(), game.getStatus());
+                sendErrorToSession(sessionId, "La partida no está en curso");
+                return;
+            }
+
             // Verificar que es el turno del jugador
             if (!game.isPlayerTurn(player)) {
                 log.warn("No es el turno del jugador {} en sala {}",player.getNickname(), request.getRoomId());
@@ -156,12 +232,21 @@ public class GameWebSocketController {
                 return;
             }
 
-            // Ejecutar el movimiento
-            boolean valid = gameService.executeMove(game, request.getMove());
+            // Un movimiento que llega con el tiempo agotado no cuenta
+            if (clockService.flagIfOutOfTime(room)) {
+                sendErrorToSession(sessionId, "Tiempo agotado");
+                return;
+            }
+
+            // Ejecutar el movimiento (una captura múltiple completa llega como path)
+            boolean valid = request.getPath() != null && !request.getPath().isEmpty() ?
+                    gameService.executePath(game, request.getPath()) :
+                    gameService.executeMove(game, request.getMove());
 
             if (valid) {
                 log.info("Movimiento válido ejecutado en sala {} por {}",request.getRoomId(), player.getNickname());
-                sendGameState(room);
+                publishMove(room);
+                botService.playIfBotTurn(room, () -> publishMove(room));
             } else {
                 log.warn("Movimiento inválido en sala {} por {}",request.getRoomId(), player.getNickname());
                 sendErrorToSession(sessionId, "Movimiento inválido");
@@ -169,45 +254,47 @@ public class GameWebSocketController {
 
         } catch (Exception e) {
             log.error("Error al ejecutar movimiento", e);
-            sendErrorToSession(headerAccessor.getSessionId(),"Error al ejecutar movimiento: " + e.getMessage());
+            sendErrorToSession(sessionId,"Error al ejecutar movimiento: " + e.getMessage());
         }
     }
 
     /**
-     * Envía el estado del juego a todos los jugadores de una sala
+     * Envía los cambios del turno a la sala y vuelve a armar el reloj; si la partida ha
+     * terminado, la sala caduca antes. Los cambios se guardan en el diario antes de enviarlos.
      */
-    private void sendGameState(Room room) {
-        Game game = room.getGame();
-
-        log.info("=== ENVIANDO ESTADO DEL JUEGO ===");
-        log.info("Sala: {}", room.getId());
-        log.info("Jugador Blanco: {}", game.getWhitePlayer() != null ? game.getWhitePlayer().getNickname() : "null");
-        log.info("Jugador Negro: {}", game.getBlackPlayer() != null ? game.getBlackPlayer().getNickname() : "null");
-        log.info("Turno actual: {}", game.getCurrentTurn());
-        log.info("Estado: {}", game.getStatus());
+    private void publishMove(Room room) {
+        clockService.arm(room);
+        roomJournal.recordProgress(room);
+        statePublisher.publishDelta(room);
+        roomService.refreshExpiry(room);
+    }
 
-        // Contar fichas en el tablero
-        int whiteCount = game.getBoard().getPiecesByColor(PieceColor.WHITE).size();
-        int blackCount = game.getBoard().getPiecesByColor(PieceColor.BLACK).size();
-        log.info("Fichas blancas: {}, Fichas negras: {}", whiteCount, blackCount);
+    /**
+     * Estado completo a petición de un cliente (al que le falta una versión).
+     * La respuesta va solo a la sesión que se suscribe, con el JSON ya guardado en la partida.
+     */
+    @SubscribeMapping("/game/{roomId}/state")
+    public CompletableFuture<byte[]> getGameState(@DestinationVariable String roomId) {
+        Room room = roomService.getRoom(roomId);
+        if (room == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Estado completo solicitado para sala {}", roomId);
+        return roomExecutor.submit(room, () -> statePublisher.snapshot(room));
+    }
 
-        GameStateResponse response = new GameStateResponse(
-                room.getId(),
-                game.getBoard(),
-                game.getCurrentTurn(),
-                game.getStatus(),
-                game.getWhitePlayer() != null ? game.getWhitePlayer().getNickname() : null,
-                game.getBlackPlayer() != null ? game.getBlackPlayer().getNickname() : null,
-                game.getWinner() != null ? game.getWinner().getNickname() : null,
-                game.getStatus() == GameStatus.IN_PROGRESS ?
-                        "Turno de " + (game.getCurrentTurn() == PieceColor.WHITE ? "blancas" : "negras") :
-                        game.getStatus() == GameStatus.FINISHED ?
-                                "¡Juego terminado! Ganador: " + game.getWinner().getNickname() : ""
+    /**
+     * Listado de salas abiertas al suscribirse al lobby; los cambios siguientes llegan por /topic/lobby
+     */
+    @SubscribeMapping("/lobby")
+    public LobbySnapshotResponse getLobby() {
+        long sequence = lobbyPublisher.getSequence();
+        RoomService.RoomPage page = roomService.getOpenRooms(null, LOBBY_SNAPSHOT_SIZE, null, false);
+        return new LobbySnapshotResponse(
+                sequence,
+                page.rooms().stream().map(RoomInfoResponse::from).toList(),
+                page.nextCursor()
         );
-
-        log.info("Enviando estado a /topic/game/{}", room.getId());
-        messagingTemplate.convertAndSend("/topic/game/" + room.getId(), response);
-        log.info("=== ESTADO ENVIADO ===");
     }
 
     /**
@@ -215,10 +302,18 @@ public class GameWebSocketController {
      */
     private void sendErrorToSession(String sessionId, String errorMessage) {
         ErrorResponse error = new ErrorResponse("ERROR", errorMessage);
-        messagingTemplate.convertAndSendToUser(
-                sessionId,
-                "/queue/errors",
-                error
-        );
+        sendToSession(sessionId, "/queue/errors", error);
+    }
+
+    /**
+     * Envía un mensaje a /user{destination} de una sola sesión. Sin usuario autenticado, el
+     * "usuario" es el ID de sesión y el mensaje tiene que llevarlo en sus cabeceras para que
+     * Spring lo entregue.
+     */
+    private void sendToSession(String sessionId, String destination, Object payload) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, destination, payload, headers.getMessageHeaders());
     }
 }
\ No newline at end of file
@@ -22,7 +22,9 @@ public class PageController {
      */
     @GetMapping("/")
     public String index(Model model) {
-        model.addAttribute("availableRooms", roomService.getAvailableRooms());
+        RoomService.RoomPage page = roomService.getOpenRooms(null, RoomRestController.DEFAULT_PAGE_SIZE, null, false);
+        model.addAttribute("availableRooms", page.rooms());
+        model.addAttribute("nextCursor", page.nextCursor());
         return "index";
     }
 
@@ -3,16 +3,33 @@ package com.sjo.checkers.controller;
 import com.sjo.checkers.dto.CreateRoomRequest;
 import com.sjo.checkers.dto.CreateRoomResponse;
 import com.sjo.checkers.dto.RoomInfoResponse;
-import com.sjo.checkers.model.Player;
+import com.sjo.checkers.dto.RoomPageResponse;
+import com.sjo.checkers.model.GameClock;
+import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.PdnWriter;
 import com.sjo.checkers.model.Room;
+import com.sjo.checkers.service.GameStatePublisher;
+import com.sjo.checkers.service.PdnArchive;
+import com.sjo.checkers.service.RoomExecutor;
 import com.sjo.checkers.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -24,7 +41,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RoomRestController {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MIN_CLOCK_SECONDS = 10;
+    private static final int MAX_CLOCK_SECONDS = 3 * 60 * 60;
+    private static final int MAX_INCREMENT_SECONDS = 60;
+    private static final MediaType PDN = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
     private final RoomService roomService;
+    private final GameStatePublisher statePublisher;
+    private final RoomExecutor roomExecutor;
+    private final ObjectProvider<PdnArchive> pdnArchive;
 
     /**
      * Crea una nueva sala vía REST (sin WebSocket)
@@ -34,20 +61,17 @@ public class RoomRestController {
         try {
             log.info("Creando sala vía REST: {}", request.getRoomName());
 
-            // Generar un ID temporal para el creador (será reemplazado cuando se una por WebSocket)
-            String tempSessionId = UUID.randomUUID().toString();
-            Player creator = new Player(request.getPlayerNickname(), tempSessionId);
-
-            Room room = roomService.createRoom(request.getRoomName(), creator);
-
-            room.getGame().setWhitePlayer(null);
+            // Los asientos quedan libres: el creador se sienta al unirse por WebSocket
+            String creatorId = UUID.randomUUID().toString();
+            GameClock clock = clockFor(request);
+            Room room = roomService.createRoom(request.getRoomName(), creatorId, request.isVsComputer(), clock);
 
             log.info("Sala creada vía REST: {} con ID: {}", room.getName(), room.getId());
 
             CreateRoomResponse response = new CreateRoomResponse(
                     room.getId(),
                     room.getName(),
-                    creator.getId(),
+                    creatorId,
                     "Sala creada exitosamente. Esperando jugadores..."
             );
 
@@ -65,23 +89,40 @@ public class RoomRestController {
     }
 
     /**
-     * Obtiene todas las salas disponibles
+     * Reloj pedido al crear la sala (null si no se pide)
+     */
+    private GameClock clockFor(CreateRoomRequest request) {
+        int seconds = request.getClockSeconds() != null ? request.getClockSeconds() : 0;
+        int increment = request.getIncrementSeconds() != null ? request.getIncrementSeconds() : 0;
+        if (seconds == 0) {
+            return null;
+        }
+        if (seconds < MIN_CLOCK_SECONDS || seconds > MAX_CLOCK_SECONDS || increment < 0 || increment > MAX_INCREMENT_SECONDS) {
+            throw new IllegalArgumentException("Control de tiempo no válido");
+        }
+        return new GameClock(seconds * 1000L, increment * 1000L);
+    }
+
+    /**
+     * Obtiene las salas disponibles por páginas, en orden de creación.
+     * after es el cursor devuelto en nextCursor; name filtra por nombre y waiting deja solo
+     * las salas con un jugador esperando.
      */
     @GetMapping
-    public ResponseEntity<List<RoomInfoResponse>> getAvailableRooms() {
-        List<Room> rooms = roomService.getAvailableRooms();
-
-        List<RoomInfoResponse> response = rooms.stream()
-                .map(room -> new RoomInfoResponse(
-                        room.getId(),
-                        room.getName(),
-                        room.getPlayerCount(),
-                        room.getMaxPlayers(),
-                        room.getGame().getStatus().toString()
-                ))
+    public ResponseEntity<RoomPageResponse> getAvailableRooms(@RequestParam(required = false) Long after,
+                                                              @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                              @RequestParam(required = false) String name,
+                                                              @RequestParam(defaultValue = "false") boolean waiting) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        RoomService.RoomPage page = roomService.getOpenRooms(after, limit, name, waiting);
+        List<RoomInfoResponse> rooms = page.rooms().stream()
+                .map(RoomInfoResponse::from)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(new RoomPageResponse(rooms, page.nextCursor()));
     }
 
     /**
@@ -95,15 +136,85 @@ public class RoomRestController {
             return ResponseEntity.notFound().build();
         }
 
-        RoomInfoResponse response = new RoomInfoResponse(
-                room.getId(),
-                room.getName(),
-                room.getPlayerCount(),
-                room.getMaxPlayers(),
-                room.getGame().getStatus().toString()
-        );
+        return ResponseEntity.ok(RoomInfoResponse.from(room));
+    }
+
+    /**
+     * Estado completo de la partida de una sala (el mismo JSON que se envía por WebSocket)
+     */
+    @GetMapping("/{roomId}/state")
+    public CompletableFuture<ResponseEntity<byte[]>> getGameState(@PathVariable String roomId) {
+        Room room = roomService.getRoom(roomId);
+
+        if (room == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+
+        // Se lee desde el buzón de la sala para no ver la partida a medio mover
+        return roomExecutor.submit(room, () -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(statePublisher.snapshot(room)));
+    }
+
+    /**
+     * Partida de una sala en PDN, con las jugadas hechas hasta ahora
+     */
+    @GetMapping("/{roomId}/pdn")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> exportPdn(@PathVariable String roomId) {
+        Room room = roomService.getRoom(roomId);
+
+        if (room == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+
+        // Se copia la partida desde el buzón y se escribe fuera de él
+        return roomExecutor.submit(room, () -> PdnWriter.PdnGame.of(room))
+                .thenApply(game -> pdnResponse(room.getId() + ".pdn", out -> {
+                    Writer writer = pdnWriter(out);
+                    PdnWriter.write(game, writer);
+                    writer.flush();
+                }));
+    }
+
+    /**
+     * Todas las partidas terminadas en PDN, copiadas del archivo de partidas sin pasar por
+     * memoria. Sin diario (checkers.journal.enabled=false) no hay archivo y solo salen las
+     * salas terminadas que siguen en memoria, es decir, las de los últimos
+     * checkers.rooms.finished-ttl-minutes.
+     */
+    @GetMapping("/pdn")
+    public ResponseEntity<StreamingResponseBody> exportFinishedPdn() {
+        PdnArchive archive = pdnArchive.getIfAvailable();
+        if (archive != null) {
+            return pdnResponse("partidas.pdn", archive::copyTo);
+        }
+        return pdnResponse("partidas.pdn", out -> {
+            Writer writer = pdnWriter(out);
+            for (Room room : roomService.getRooms()) {
+                PdnWriter.PdnGame game = roomExecutor.submit(room, () -> isOver(room) ? PdnWriter.PdnGame.of(room) : null).join();
+                if (game != null) {
+                    PdnWriter.write(game, writer);
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        });
+    }
+
+    private static boolean isOver(Room room) {
+        GameStatus status = room.getGame().getStatus();
+        return status == GameStatus.FINISHED || status == GameStatus.DRAW;
+    }
+
+    private static Writer pdnWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
 
-        return ResponseEntity.ok(response);
+    private static ResponseEntity<StreamingResponseBody> pdnResponse(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(PDN)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     /**
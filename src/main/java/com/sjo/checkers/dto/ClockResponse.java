@@ -0,0 +1,29 @@
+package com.sjo.checkers.dto;
+
+import com.sjo.checkers.model.GameClock;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO para el reloj de una partida con control de tiempo.
+ * Los tiempos son los que quedaban al empezar el turno; el del jugador con el turno corre
+ * desde turnStartedAt (0 si el reloj está parado).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClockResponse {
+    private long whiteMillis;
+    private long blackMillis;
+    private long incrementMillis;
+    private long turnStartedAt; // Hora del servidor (epoch ms)
+
+    public static ClockResponse from(GameClock clock) {
+        if (clock == null) {
+            return null;
+        }
+        return new ClockResponse(clock.getWhiteMillis(), clock.getBlackMillis(),
+                clock.getIncrementMillis(), clock.getTurnStartedAt());
+    }
+}
@@ -13,4 +13,12 @@ import lombok.AllArgsConstructor;
 public class CreateRoomRequest {
     private String roomName;
     private String playerNickname;
+    private Boolean vsComputer; // Jugar contra la computadora (los clientes antiguos no lo envían)
+    private Integer clockSeconds;     // Tiempo inicial de cada jugador (null o 0: sin reloj)
+    private Integer incrementSeconds; // Incremento Fischer por turno (null o 0: muerte súbita)
+
+    // Método helper para verificar si es contra la computadora (maneja null)
+    public boolean isVsComputer() {
+        return vsComputer != null && vsComputer;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.sjo.checkers.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.PieceColor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con los cambios del juego desde la versión anterior.
+ * Las casillas van numeradas de 0 a 31 (fila * 4 + columna / 2) y cada salto es un entero
+ * {@link com.sjo.checkers.model.PackedMove}: origen en los bits 0-4, destino en 5-9, ficha
+ * capturada en 10-14, bit 15 si es captura y bit 16 si corona.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameDeltaResponse {
+    public static final String TYPE = "DELTA";
+
+    private final String type = TYPE;
+    private String roomId;
+    private int fromVersion; // Versión sobre la que se aplican los saltos
+    private int version;
+    private int[] moves;
+    private PieceColor currentTurn;
+    private GameStatus status;
+    private String winnerNickname;
+    private String message;
+    private List<int[]> legalMoves; // Movimientos del jugador con el turno: origen y casillas de aterrizaje
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ClockResponse clock; // Solo en partidas con control de tiempo
+}
@@ -1,25 +1,42 @@
 package com.sjo.checkers.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.sjo.checkers.model.Board;
 import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.Move;
 import com.sjo.checkers.model.PieceColor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 /**
- * DTO para actualizar el estado del juego
+ * DTO para actualizar el estado del juego (estado completo).
+ * Tras cada movimiento se envía un {@link GameDeltaResponse}; el estado completo solo al
+ * unirse, al reconectar o cuando el cliente detecta que le falta una versión.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class GameStateResponse {
+    public static final String TYPE = "SNAPSHOT";
+
+    private final String type = TYPE;
     private String roomId;
-    private Board board;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Board board; // Solo en la versión GRID del protocolo
     private PieceColor currentTurn;
     private GameStatus status;
     private String whitePlayerNickname;
     private String blackPlayerNickname;
     private String winnerNickname;
     private String message; // Mensajes informativos
+    private List<List<Move.Position>> legalMoves; // Movimientos del jugador con el turno: origen y casillas de aterrizaje
+    private int version; // Versión del estado (número de saltos aplicados)
+    private int protocolVersion;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String fen; // Tablero codificado con BoardCodec, en la versión COMPACT del protocolo
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ClockResponse clock; // Solo en partidas con control de tiempo
 }
\ No newline at end of file
@@ -13,4 +13,6 @@ import lombok.AllArgsConstructor;
 public class JoinRoomRequest {
     private String roomId;
     private String playerNickname;
+    private Integer protocolVersion; // Versión del protocolo que entiende el cliente (null en clientes antiguos)
+    private String reconnectToken;   // Token recibido al sentarse (ver SeatResponse), para recuperar el asiento
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sjo.checkers.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para los cambios del listado de salas acumulados en un intervalo (/topic/lobby).
+ * Solo va el último cambio de cada sala: ADDED y UPDATED se aplican como alta o actualización
+ * y FILLED y REMOVED como baja.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyBatchResponse {
+    private long sequence; // Los lotes con sequence <= la de la instantánea ya están incluidos en ella
+    private List<LobbyEventResponse> events;
+}
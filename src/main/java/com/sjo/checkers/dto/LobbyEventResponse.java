@@ -0,0 +1,24 @@
+package com.sjo.checkers.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO para un cambio en el listado de salas abiertas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyEventResponse {
+
+    public enum Type {
+        ADDED,    // Sala nueva en el listado
+        UPDATED,  // Cambia el número de jugadores
+        FILLED,   // Se ha llenado: sale del listado
+        REMOVED   // Se ha borrado: sale del listado
+    }
+
+    private Type type;
+    private RoomInfoResponse room; // Estado de la sala en el momento del cambio
+}
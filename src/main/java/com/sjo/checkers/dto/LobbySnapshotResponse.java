@@ -0,0 +1,19 @@
+package com.sjo.checkers.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para el listado de salas que recibe un cliente al suscribirse a /app/lobby
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbySnapshotResponse {
+    private long sequence;   // Último lote de /topic/lobby incluido
+    private List<RoomInfoResponse> rooms;
+    private Long nextCursor; // Para seguir con GET /api/rooms?after= (null si no hay más)
+}
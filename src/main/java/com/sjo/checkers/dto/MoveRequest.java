@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 /**
  * DTO para enviar un movimiento
  */
@@ -15,4 +17,5 @@ public class MoveRequest {
     private String roomId;
     private String playerId;
     private Move move;
+    private List<Move.Position> path; // Captura múltiple completa: origen y cada casilla de aterrizaje
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.sjo.checkers.dto;
 
+import com.sjo.checkers.model.Room;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -16,4 +17,16 @@ public class RoomInfoResponse {
     private int currentPlayers;
     private int maxPlayers;
     private String status;
+    private long botCpuMillis;   // CPU consumida por la computadora en la partida
+
+    public static RoomInfoResponse from(Room room) {
+        return new RoomInfoResponse(
+                room.getId(),
+                room.getName(),
+                room.getPlayerCount(),
+                room.getMaxPlayers(),
+                room.getGame().getStatus().toString(),
+                room.getGame().getBotCpuMillis()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.sjo.checkers.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para una página del listado de salas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomPageResponse {
+    private List<RoomInfoResponse> rooms;
+    private Long nextCursor; // Valor de "after" para pedir la página siguiente (null si no hay más)
+}
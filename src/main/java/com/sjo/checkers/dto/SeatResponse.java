@@ -0,0 +1,17 @@
+package com.sjo.checkers.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO con el asiento de un jugador, enviado solo a su sesión
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatResponse {
+    private String roomId;
+    private String color;
+    private String reconnectToken; // Se devuelve al volver a unirse tras un reinicio del servidor
+}
@@ -0,0 +1,59 @@
+package com.sjo.checkers.engine;
+
+import com.sjo.checkers.model.BitBoard;
+import com.sjo.checkers.model.PieceColor;
+
+/**
+ * Evaluación estática de una posición, en centésimas de peón y desde el punto de vista
+ * del jugador indicado. Solo usa máscaras y popcounts.
+ */
+public final class Evaluator {
+
+    public static final int MAN = 100;
+    public static final int KING = 140;
+
+    private static final int ADVANCE = 3;     // por fila avanzada de cada peón
+    private static final int BACK_ROW = 8;    // peones que defienden la fila de coronación propia
+    private static final int CENTER = 4;      // fichas en las casillas centrales
+
+    private static final int WHITE_BACK_ROW = 0xF0000000; // fila 7
+    private static final int BLACK_BACK_ROW = 0x0000000F; // fila 0
+    private static final int CENTER_SQUARES = 0x00666600; // columnas 2-5 de las filas 2-5
+
+    private static final int[] ROW_MASKS = new int[8];
+
+    static {
+        for (int row = 0; row < 8; row++) {
+            ROW_MASKS[row] = 0xF << (row * 4);
+        }
+    }
+
+    private Evaluator() {
+    }
+
+    public static int evaluate(BitBoard board, PieceColor side) {
+        int score = evaluateWhite(board);
+        return side == PieceColor.WHITE ? score : -score;
+    }
+
+    private static int evaluateWhite(BitBoard board) {
+        int kings = board.getKings();
+        int whiteMen = board.getWhite() & ~kings;
+        int blackMen = board.getBlack() & ~kings;
+        int whiteKings = board.getWhite() & kings;
+        int blackKings = board.getBlack() & kings;
+
+        int score = MAN * (Integer.bitCount(whiteMen) - Integer.bitCount(blackMen))
+                + KING * (Integer.bitCount(whiteKings) - Integer.bitCount(blackKings));
+
+        // Avance de los peones hacia la coronación
+        for (int row = 1; row < 7; row++) {
+            score += ADVANCE * ((7 - row) * Integer.bitCount(whiteMen & ROW_MASKS[row])
+                    - row * Integer.bitCount(blackMen & ROW_MASKS[row]));
+        }
+
+        score += BACK_ROW * (Integer.bitCount(whiteMen & WHITE_BACK_ROW) - Integer.bitCount(blackMen & BLACK_BACK_ROW));
+        score += CENTER * (Integer.bitCount(board.getWhite() & CENTER_SQUARES) - Integer.bitCount(board.getBlack() & CENTER_SQUARES));
+        return score;
+    }
+}
@@ -0,0 +1,139 @@
+package com.sjo.checkers.engine;
+
+import com.sjo.checkers.model.BitBoard;
+import com.sjo.checkers.model.PieceColor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Búsqueda en paralelo tipo Lazy SMP: el hilo que llama hace la búsqueda principal y
+ * threads - 1 ayudantes buscan la misma posición (con profundidad y orden de raíz distintos)
+ * compartiendo la tabla de transposiciones. Los ayudantes no devuelven nada: solo llenan
+ * la tabla, y se detienen en cuanto termina la búsqueda principal.
+ *
+ * Los ayudantes corren en un pool propio de tamaño fijo, separado de los hilos de STOMP, con
+ * threads - 1 hilos por cada búsqueda que pueda haber a la vez (concurrentSearches): en total
+ * se usan como mucho concurrentSearches × threads hilos. Con un solo hilo no hay pool. Si el
+ * pool está ocupado la búsqueda sigue con menos hilos.
+ */
+@Slf4j
+public class ParallelSearch {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final TranspositionTable table;
+    private final int threads;
+    private final ThreadPoolExecutor pool; // null con un solo hilo
+    private final ThreadLocal<Searcher> searchers;
+
+    public ParallelSearch(TranspositionTable table, int threads) {
+        this(table, threads, 1);
+    }
+
+    public ParallelSearch(TranspositionTable table, int threads, int concurrentSearches) {
+        this.table = table;
+        this.threads = Math.max(1, threads);
+        this.searchers = ThreadLocal.withInitial(() -> new Searcher(table));
+        if (this.threads == 1) {
+            this.pool = null;
+            return;
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        int helpers = Math.max(1, concurrentSearches) * (this.threads - 1);
+        // Sin cola: un ayudante que esperase empezaría cuando la búsqueda ya ha terminado
+        this.pool = new ThreadPoolExecutor(helpers, helpers, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "checkers-search-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Busca con todos los hilos y devuelve el resultado de la búsqueda principal
+     * (los nodos incluyen los de los ayudantes)
+     */
+    public SearchResult search(BitBoard root, PieceColor side, int capturingSquare, SearchLimits limits) {
+        return search(root, side, capturingSquare, limits, null);
+    }
+
+    /**
+     * Igual que {@link #search(BitBoard, PieceColor, int, SearchLimits)} pero se puede detener
+     * desde fuera con externalStop (por ejemplo al reflexionar durante el turno del rival)
+     */
+    public SearchResult search(BitBoard root, PieceColor side, int capturingSquare, SearchLimits limits,
+                               AtomicBoolean externalStop) {
+        long cpuStart = cpuNanos();
+        if (threads == 1) {
+            SearchResult result = searchers.get().search(root, side, capturingSquare, limits, externalStop, 0);
+            result.setCpuMillis((cpuNanos() - cpuStart) / 1_000_000);
+            return result;
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong helperNodes = new AtomicLong();
+        AtomicLong helperCpu = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            int helper = i;
+            SearchLimits helperLimits = new SearchLimits(limits.getMaxDepth() + (helper & 1), 0, limits.getMaxTimeMillis());
+            BitBoard copy = root.copy();
+            try {
+                futures.add(pool.submit(() -> {
+                    long helperStart = cpuNanos();
+                    Searcher searcher = searchers.get();
+                    searcher.search(copy, side, capturingSquare, helperLimits, stop, helper);
+                    helperNodes.addAndGet(searcher.getNodes());
+                    helperCpu.addAndGet(cpuNanos() - helperStart);
+                }));
+            } catch (RejectedExecutionException e) {
+                break; // Pool ocupado por otras partidas: seguimos con menos ayudantes
+            }
+        }
+
+        SearchResult result = searchers.get().search(root, side, capturingSquare, limits, externalStop, 0);
+        stop.set(true);
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | CancellationException e) {
+                log.warn("Error en hilo de búsqueda auxiliar", e);
+            }
+        }
+
+        result.setNodes(result.getNodes() + helperNodes.get());
+        result.setCpuMillis((cpuNanos() - cpuStart + helperCpu.get()) / 1_000_000);
+        return result;
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.sjo.checkers.engine;
+
+import com.sjo.checkers.model.BitBoard;
+import com.sjo.checkers.model.PackedMove;
+import com.sjo.checkers.model.PieceColor;
+import com.sjo.checkers.service.GameService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Perft: cuenta las posiciones hoja a una profundidad dada para comprobar el generador de
+ * movimientos contra cifras conocidas y medir su rendimiento.
+ *
+ * La profundidad se cuenta en turnos completos: los saltos que continúan una captura
+ * múltiple no gastan profundidad, igual que en la búsqueda. Una captura que corona termina
+ * el turno.
+ *
+ * Cada instancia reserva sus tableros y buffers al crearse y no es segura entre hilos.
+ */
+public class Perft {
+
+    private static final int MAX_PLY = 256; // Turnos más saltos encadenados
+
+    private final BitBoard[] boards = new BitBoard[MAX_PLY + 1];
+    private final int[][] moves = new int[MAX_PLY][PackedMove.MAX_MOVES];
+
+    public Perft() {
+        for (int i = 0; i <= MAX_PLY; i++) {
+            boards[i] = new BitBoard();
+        }
+    }
+
+    /**
+     * Cuenta las hojas a la profundidad indicada usando el generador del {@link BitBoard}
+     */
+    public long count(BitBoard root, PieceColor side, int capturingSquare, int depth) {
+        boards[0].copyFrom(root);
+        return count(0, side, capturingSquare, depth);
+    }
+
+    private long count(int ply, PieceColor side, int capturingSquare, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        BitBoard board = boards[ply];
+        int[] buffer = moves[ply];
+        int count = board.generateMoves(side, capturingSquare, buffer);
+
+        long leaves = 0;
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            BitBoard child = boards[ply + 1];
+            child.copyFrom(board);
+            child.apply(move);
+            if (continuesCapture(child, move)) {
+                leaves += count(ply + 1, side, PackedMove.to(move), depth);
+            } else {
+                leaves += count(ply + 1, opponent(side), -1, depth - 1);
+            }
+        }
+        return leaves;
+    }
+
+    /**
+     * Desglose por movimiento de la raíz ("divide"), útil para localizar en qué rama
+     * difieren dos generadores
+     */
+    public Map<String, Long> divide(BitBoard root, PieceColor side, int capturingSquare, int depth) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        int[] buffer = new int[PackedMove.MAX_MOVES];
+        int count = root.generateMoves(side, capturingSquare, buffer);
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            BitBoard child = root.copy();
+            child.apply(move);
+            long leaves = continuesCapture(child, move)
+                    ? count(child, side, PackedMove.to(move), depth)
+                    : count(child, opponent(side), -1, depth - 1);
+            result.put(PackedMove.toString(move), leaves);
+        }
+        return result;
+    }
+
+    /**
+     * Cuenta las hojas validando cada par origen-destino con las reglas de {@link GameService}
+     * en lugar del generador. Es mucho más lento, pero comprueba que ambos coinciden.
+     */
+    public static long countWithRules(GameService rules, BitBoard board, PieceColor side, int capturingSquare, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long leaves = 0;
+        int pieces = board.pieces(side);
+        while (pieces != 0) {
+            int from = Integer.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            for (int to = 0; to < BitBoard.SQUARES; to++) {
+                int move = rules.findLegalMove(board, side, capturingSquare, from, to);
+                if (move == PackedMove.NONE) {
+                    continue;
+                }
+                BitBoard child = board.copy();
+                child.apply(move);
+                if (continuesCapture(child, move)) {
+                    leaves += countWithRules(rules, child, side, to, depth);
+                } else {
+                    leaves += countWithRules(rules, child, opponent(side), -1, depth - 1);
+                }
+            }
+        }
+        return leaves;
+    }
+
+    private static boolean continuesCapture(BitBoard board, int move) {
+        return PackedMove.isCapture(move) && !PackedMove.isPromotion(move)
+                && board.captureTargets(PackedMove.to(move)) != 0;
+    }
+
+    private static PieceColor opponent(PieceColor side) {
+        return side == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    }
+}
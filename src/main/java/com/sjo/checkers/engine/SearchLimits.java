@@ -0,0 +1,17 @@
+package com.sjo.checkers.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Presupuesto de una búsqueda: profundidad máxima, nodos y tiempo (0 = sin límite)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchLimits {
+    private int maxDepth;
+    private long maxNodes;
+    private long maxTimeMillis;
+}
@@ -0,0 +1,20 @@
+package com.sjo.checkers.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una búsqueda: mejor movimiento (codificado con PackedMove) y estadísticas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+    private int move;
+    private int score;
+    private int depth;
+    private long nodes;
+    private long elapsedMillis;
+    private long cpuMillis; // Tiempo de CPU de todos los hilos de la búsqueda
+}
@@ -0,0 +1,360 @@
+package com.sjo.checkers.engine;
+
+import com.sjo.checkers.model.BitBoard;
+import com.sjo.checkers.model.PackedMove;
+import com.sjo.checkers.model.PieceColor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Búsqueda negamax con poda alfa-beta sobre el {@link BitBoard}.
+ * Trabaja salto a salto: tras una captura que puede continuar, vuelve a mover el mismo
+ * jugador sin cambiar el signo ni gastar profundidad. Al llegar a profundidad 0 sigue
+ * buscando mientras haya capturas obligatorias (quiescencia).
+ *
+ * La raíz usa profundización iterativa con ventanas de aspiración: cada iteración parte
+ * de la puntuación anterior y solo se repite con ventana completa si se sale de ella.
+ * Los movimientos se ordenan por tabla de transposiciones, movimientos asesinos (killers)
+ * e historial de cortes.
+ *
+ * Cada instancia reserva sus tableros y buffers de movimientos al crearse y no es
+ * segura entre hilos; la tabla de transposiciones sí puede compartirse.
+ */
+public class Searcher {
+
+    public static final int WIN = 30000;
+    private static final int WIN_THRESHOLD = WIN - 1000;
+    private static final int INFINITY = WIN + 1;
+    private static final int MAX_PLY = 128;
+    private static final int CHECK_INTERVAL = 1023; // comprobar límites cada 1024 nodos
+    private static final int ASPIRATION_WINDOW = 40;
+
+    // Prioridades de ordenación
+    private static final int TT_MOVE_SCORE = 1 << 30;
+    private static final int PROMOTION_SCORE = 1 << 25;
+    private static final int KILLER_SCORE = 1 << 24;
+
+    private final TranspositionTable table;
+    private final BitBoard[] boards = new BitBoard[MAX_PLY + 1];
+    private final int[][] moves = new int[MAX_PLY][PackedMove.MAX_MOVES];
+    private final int[][] orderScores = new int[MAX_PLY][PackedMove.MAX_MOVES];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[] history = new int[1024]; // indexado por origen | destino << 5
+
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private boolean aborted;
+    private AtomicBoolean stop; // Señal externa de parada (búsqueda en paralelo o reflexión)
+    private int rootBestMove;
+
+    public Searcher(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i <= MAX_PLY; i++) {
+            boards[i] = new BitBoard();
+        }
+    }
+
+    /**
+     * Busca el mejor movimiento para el jugador con el turno dentro del presupuesto indicado.
+     * Si el presupuesto se agota devuelve el resultado de la última iteración completa.
+     */
+    public SearchResult search(BitBoard root, PieceColor side, int capturingSquare, SearchLimits limits) {
+        return search(root, side, capturingSquare, limits, null, 0);
+    }
+
+    /**
+     * Variante para búsqueda en paralelo: se detiene cuando stop pasa a true y recorre los
+     * movimientos de la raíz empezando por rootOffset para que cada hilo explore en otro orden
+     */
+    public SearchResult search(BitBoard root, PieceColor side, int capturingSquare, SearchLimits limits,
+                               AtomicBoolean stop, int rootOffset) {
+        long start = System.currentTimeMillis();
+        nodes = 0;
+        aborted = false;
+        this.stop = stop;
+        nodeLimit = limits.getMaxNodes() > 0 ? limits.getMaxNodes() : Long.MAX_VALUE;
+        deadline = limits.getMaxTimeMillis() > 0 ? start + limits.getMaxTimeMillis() : Long.MAX_VALUE;
+        // No se empieza una iteración nueva pasada la mitad del tiempo: probablemente no terminaría
+        long softDeadline = limits.getMaxTimeMillis() > 0 ? start + limits.getMaxTimeMillis() / 2 : Long.MAX_VALUE;
+
+        boards[0].copyFrom(root);
+        int[] list = moves[0];
+        int count = root.generateMoves(side, capturingSquare, list);
+        if (count == 0) {
+            return new SearchResult(PackedMove.NONE, -WIN, 0, 0, 0, 0);
+        }
+        if (count == 1) {
+            return new SearchResult(list[0], 0, 0, 0, System.currentTimeMillis() - start, 0);
+        }
+
+        rotate(list, count, rootOffset % count);
+        for (int[] killer : killers) {
+            killer[0] = PackedMove.NONE;
+            killer[1] = PackedMove.NONE;
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1; // El historial de búsquedas anteriores pesa menos
+        }
+
+        int bestMove = list[0];
+        int bestScore = 0;
+        int completedDepth = 0;
+        int maxDepth = Math.max(1, limits.getMaxDepth());
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int alpha = depth >= 3 ? bestScore - ASPIRATION_WINDOW : -INFINITY;
+            int beta = depth >= 3 ? bestScore + ASPIRATION_WINDOW : INFINITY;
+            int score;
+            while (true) {
+                score = searchRoot(side, list, count, depth, alpha, beta);
+                if (aborted) {
+                    break;
+                }
+                if (score <= alpha) {
+                    alpha = -INFINITY; // Fuera de la ventana por abajo: repetir con ventana completa
+                } else if (score >= beta) {
+                    beta = INFINITY;
+                } else {
+                    break;
+                }
+            }
+            if (aborted) {
+                break;
+            }
+
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+            moveToFront(list, count, bestMove);
+
+            if (Math.abs(bestScore) > WIN_THRESHOLD || System.currentTimeMillis() >= softDeadline) {
+                break;
+            }
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.currentTimeMillis() - start, 0);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int searchRoot(PieceColor side, int[] list, int count, int depth, int alpha, int beta) {
+        int bestScore = -INFINITY;
+        rootBestMove = list[0];
+        for (int i = 0; i < count; i++) {
+            int score = searchMove(0, side, list[i], depth, alpha, beta);
+            if (aborted) {
+                break;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                rootBestMove = list[i];
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return bestScore;
+    }
+
+    /**
+     * Aplica un movimiento en el tablero del ply siguiente y devuelve su puntuación
+     * desde el punto de vista del jugador que mueve
+     */
+    private int searchMove(int ply, PieceColor side, int move, int depth, int alpha, int beta) {
+        BitBoard child = boards[ply + 1];
+        child.copyFrom(boards[ply]);
+        child.apply(move);
+        int to = PackedMove.to(move);
+        if (PackedMove.isCapture(move) && !PackedMove.isPromotion(move) && child.captureTargets(to) != 0) {
+            // Captura múltiple: sigue moviendo el mismo jugador
+            return negamax(ply + 1, side, to, depth, alpha, beta);
+        }
+        return -negamax(ply + 1, opposite(side), -1, depth - 1, -beta, -alpha);
+    }
+
+    private int negamax(int ply, PieceColor side, int capturingSquare, int depth, int alpha, int beta) {
+        if ((++nodes & CHECK_INTERVAL) == 0) {
+            checkLimits();
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        BitBoard board = boards[ply];
+        if (ply >= MAX_PLY - 1) {
+            return Evaluator.evaluate(board, side);
+        }
+
+        int[] list = moves[ply];
+        int count = board.generateMoves(side, capturingSquare, list);
+        if (count == 0) {
+            return -WIN + ply; // Sin movimientos: derrota
+        }
+        // Quiescencia: solo se evalúa cuando no hay capturas pendientes
+        if (depth <= 0 && !PackedMove.isCapture(list[0])) {
+            return Evaluator.evaluate(board, side);
+        }
+
+        long key = 0;
+        int ttMove = PackedMove.NONE;
+        if (capturingSquare < 0) {
+            key = board.hash(side);
+            long entry = table.probe(key);
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        scoreMoves(ply, list, count, ttMove);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, list, count, i);
+            int score = searchMove(ply, side, move, depth, alpha, beta);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    if (!PackedMove.isCapture(move)) {
+                        recordCutoff(ply, move, depth);
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (capturingSquare < 0) {
+            int bound = bestScore <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : bestScore >= beta ? TranspositionTable.LOWER_BOUND
+                    : TranspositionTable.EXACT;
+            table.store(key, bestMove, toTable(bestScore, ply), Math.max(depth, 0), bound);
+        }
+        return bestScore;
+    }
+
+    /**
+     * Asigna una prioridad a cada movimiento: primero el de la tabla, luego coronaciones,
+     * killers de este ply y por último el historial de cortes
+     */
+    private void scoreMoves(int ply, int[] list, int count, int ttMove) {
+        int[] scores = orderScores[ply];
+        int killer0 = killers[ply][0];
+        int killer1 = killers[ply][1];
+        for (int i = 0; i < count; i++) {
+            int move = list[i];
+            if (move == ttMove) {
+                scores[i] = TT_MOVE_SCORE;
+            } else if (PackedMove.isPromotion(move)) {
+                scores[i] = PROMOTION_SCORE;
+            } else if (move == killer0) {
+                scores[i] = KILLER_SCORE + 1;
+            } else if (move == killer1) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = history[move & 0x3FF];
+            }
+        }
+    }
+
+    /**
+     * Selecciona el movimiento con más prioridad entre los que quedan y lo coloca en la posición i
+     */
+    private int pickNext(int ply, int[] list, int count, int i) {
+        int[] scores = orderScores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        if (best != i) {
+            int move = list[best];
+            list[best] = list[i];
+            list[i] = move;
+            int score = scores[best];
+            scores[best] = scores[i];
+            scores[i] = score;
+        }
+        return list[i];
+    }
+
+    private void recordCutoff(int ply, int move, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = move & 0x3FF;
+        history[index] = Math.min(history[index] + depth * depth, KILLER_SCORE - 1);
+    }
+
+    private void checkLimits() {
+        if (nodes >= nodeLimit || System.currentTimeMillis() >= deadline || (stop != null && stop.get())) {
+            aborted = true;
+        }
+    }
+
+    private static void rotate(int[] list, int count, int offset) {
+        for (int r = 0; r < offset; r++) {
+            int first = list[0];
+            System.arraycopy(list, 1, list, 0, count - 1);
+            list[count - 1] = first;
+        }
+    }
+
+    private static void moveToFront(int[] list, int count, int move) {
+        for (int i = 1; i < count; i++) {
+            if (list[i] == move) {
+                System.arraycopy(list, 0, list, 1, i);
+                list[0] = move;
+                return;
+            }
+        }
+    }
+
+    // Las puntuaciones de victoria se guardan relativas a la posición, no a la raíz
+    private static int toTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score + ply;
+        }
+        if (score < -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score - ply;
+        }
+        if (score < -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static PieceColor opposite(PieceColor color) {
+        return color == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+    }
+}
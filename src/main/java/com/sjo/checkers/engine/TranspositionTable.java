@@ -0,0 +1,88 @@
+package com.sjo.checkers.engine;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de transposiciones de tamaño fijo indexada por el hash Zobrist de la posición.
+ * No usa bloqueos: cada entrada guarda la clave XOR los datos, de modo que una lectura
+ * que mezcle escrituras de dos hilos distintos simplemente no coincide con la clave.
+ *
+ * Formato de los datos: bits 0-16 movimiento, 17-23 profundidad, 24-25 tipo de cota,
+ * 26 entrada válida, 32-47 puntuación.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final long VALID = 1L << 26;
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    /**
+     * Crea una tabla que ocupa como mucho el número de megabytes indicado
+     */
+    public TranspositionTable(int sizeMb) {
+        long entries = Math.max(1024, ((long) sizeMb << 20) / ENTRY_BYTES);
+        int size = Integer.highestOneBit((int) Math.min(entries, 1 << 30));
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Devuelve los datos guardados para la clave, o 0 si no hay entrada
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        if (entry != 0 && (keys[index] ^ entry) == key) {
+            return entry;
+        }
+        return 0;
+    }
+
+    /**
+     * Guarda una entrada; no sustituye una entrada más profunda de la misma posición
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = (int) key & mask;
+        long old = data[index];
+        if (old != 0 && (keys[index] ^ old) == key && depth(old) > depth) {
+            return;
+        }
+        long entry = (move & 0x1FFFFL)
+                | ((long) Math.min(depth, 127) << 17)
+                | ((long) bound << 24)
+                | VALID
+                | ((long) (score & 0xFFFF) << 32);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+    }
+
+    public static int move(long entry) {
+        int move = (int) (entry & 0x1FFFF);
+        return move == 0x1FFFF ? -1 : move;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 17) & 0x7F;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 24) & 0x3;
+    }
+
+    public static int score(long entry) {
+        return (short) (entry >>> 32);
+    }
+}
@@ -0,0 +1,10 @@
+package com.sjo.checkers.journal;
+
+/**
+ * Cuándo se fuerza a disco lo escrito en el diario
+ */
+public enum Durability {
+    NONE,      // Solo se escribe al fichero: sobrevive a que se caiga el proceso, no el sistema
+    BATCHED,   // fsync cada batch-ms como mucho; se puede perder lo último escrito en ese intervalo
+    PER_MOVE   // Cada evento espera a su fsync (compartido con los que lleguen a la vez)
+}
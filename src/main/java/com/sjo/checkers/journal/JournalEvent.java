@@ -0,0 +1,161 @@
+package com.sjo.checkers.journal;
+
+import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.PieceColor;
+
+import java.io.*;
+
+/**
+ * Eventos de las salas que se guardan en el diario, con su codificación binaria.
+ * Cada registro empieza por un byte con el tipo; los colores y estados van como su ordinal
+ * (-1 si no hay) y los textos opcionales llevan delante un byte que dice si están.
+ * Los campos nuevos se añaden al final: en los registros escritos antes no están y se leen como null.
+ */
+public sealed interface JournalEvent {
+
+    String roomId();
+
+    byte TYPE_ROOM_CREATED = 1;
+    byte TYPE_PLAYER_JOINED = 2;
+    byte TYPE_PLAYER_LEFT = 3;
+    byte TYPE_MOVES_PLAYED = 4;
+    byte TYPE_STATUS_CHANGED = 5;
+    byte TYPE_ROOM_REMOVED = 6;
+
+    /**
+     * Sala creada; clockMillis es 0 si la partida no tiene reloj
+     */
+    record RoomCreated(String roomId, String name, String creatorId, boolean vsComputer, long sequence,
+                       long createdAt, long clockMillis, long incrementMillis) implements JournalEvent {
+    }
+
+    /**
+     * Jugador sentado; reconnectToken es null en los bots y en los registros anteriores al token
+     */
+    record PlayerJoined(String roomId, PieceColor color, String playerId, String nickname, boolean bot,
+                        int protocolVersion, String reconnectToken) implements JournalEvent {
+    }
+
+    record PlayerLeft(String roomId, PieceColor color) implements JournalEvent {
+    }
+
+    /**
+     * Saltos aplicados desde fromVersion y tiempos del reloj después del último (-1 sin reloj)
+     */
+    record MovesPlayed(String roomId, int fromVersion, int[] moves, long whiteMillis,
+                       long blackMillis) implements JournalEvent {
+    }
+
+    record StatusChanged(String roomId, GameStatus status, PieceColor winner,
+                         PieceColor flagged) implements JournalEvent {
+    }
+
+    record RoomRemoved(String roomId) implements JournalEvent {
+    }
+
+    default byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (this) {
+                case RoomCreated e -> {
+                    out.writeByte(TYPE_ROOM_CREATED);
+                    out.writeUTF(e.roomId());
+                    writeString(out, e.name());
+                    writeString(out, e.creatorId());
+                    out.writeBoolean(e.vsComputer());
+                    out.writeLong(e.sequence());
+                    out.writeLong(e.createdAt());
+                    out.writeLong(e.clockMillis());
+                    out.writeLong(e.incrementMillis());
+                }
+                case PlayerJoined e -> {
+                    out.writeByte(TYPE_PLAYER_JOINED);
+                    out.writeUTF(e.roomId());
+                    out.writeByte(ordinal(e.color()));
+                    writeString(out, e.playerId());
+                    writeString(out, e.nickname());
+                    out.writeBoolean(e.bot());
+                    out.writeByte(e.protocolVersion());
+                    writeString(out, e.reconnectToken());
+                }
+                case PlayerLeft e -> {
+                    out.writeByte(TYPE_PLAYER_LEFT);
+                    out.writeUTF(e.roomId());
+                    out.writeByte(ordinal(e.color()));
+                }
+                case MovesPlayed e -> {
+                    out.writeByte(TYPE_MOVES_PLAYED);
+                    out.writeUTF(e.roomId());
+                    out.writeInt(e.fromVersion());
+                    out.writeShort(e.moves().length);
+                    for (int move : e.moves()) {
+                        out.writeInt(move);
+                    }
+                    out.writeLong(e.whiteMillis());
+                    out.writeLong(e.blackMillis());
+                }
+                case StatusChanged e -> {
+                    out.writeByte(TYPE_STATUS_CHANGED);
+                    out.writeUTF(e.roomId());
+                    out.writeByte(e.status().ordinal());
+                    out.writeByte(ordinal(e.winner()));
+                    out.writeByte(ordinal(e.flagged()));
+                }
+                case RoomRemoved e -> {
+                    out.writeByte(TYPE_ROOM_REMOVED);
+                    out.writeUTF(e.roomId());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Lee un registro escrito con {@link #encode()}
+     */
+    static JournalEvent decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        String roomId = in.readUTF();
+        return switch (type) {
+            case TYPE_ROOM_CREATED -> new RoomCreated(roomId, readString(in), readString(in), in.readBoolean(),
+                    in.readLong(), in.readLong(), in.readLong(), in.readLong());
+            case TYPE_PLAYER_JOINED -> new PlayerJoined(roomId, color(in.readByte()), readString(in), readString(in),
+                    in.readBoolean(), in.readByte(), in.available() > 0 ? readString(in) : null);
+            case TYPE_PLAYER_LEFT -> new PlayerLeft(roomId, color(in.readByte()));
+            case TYPE_MOVES_PLAYED -> {
+                int fromVersion = in.readInt();
+                int[] moves = new int[in.readUnsignedShort()];
+                for (int i = 0; i < moves.length; i++) {
+                    moves[i] = in.readInt();
+                }
+                yield new MovesPlayed(roomId, fromVersion, moves, in.readLong(), in.readLong());
+            }
+            case TYPE_STATUS_CHANGED -> new StatusChanged(roomId, GameStatus.values()[in.readByte()],
+                    color(in.readByte()), color(in.readByte()));
+            case TYPE_ROOM_REMOVED -> new RoomRemoved(roomId);
+            default -> throw new IOException("Tipo de registro desconocido: " + type);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int ordinal(PieceColor color) {
+        return color != null ? color.ordinal() : -1;
+    }
+
+    private static PieceColor color(byte ordinal) {
+        return ordinal >= 0 ? PieceColor.values()[ordinal] : null;
+    }
+}
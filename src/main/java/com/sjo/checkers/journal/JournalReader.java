@@ -0,0 +1,97 @@
+package com.sjo.checkers.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Lectura de los segmentos escritos por {@link JournalWriter}
+ */
+@Slf4j
+public final class JournalReader {
+
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private JournalReader() {
+    }
+
+    /**
+     * Segmentos del directorio en orden de escritura
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(JournalWriter.SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - JournalWriter.SEGMENT_SUFFIX.length()));
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%016d%s", segment, JournalWriter.SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Pasa a consumer los registros de los segmentos desde fromSegment (incluido), en orden.
+     * Devuelve cuántos ha leído.
+     */
+    public static long read(Path directory, long fromSegment, Consumer<byte[]> consumer) throws IOException {
+        long count = 0;
+        for (Path segment : segments(directory)) {
+            if (segmentNumber(segment) >= fromSegment) {
+                count += readSegment(segment, consumer);
+            }
+        }
+        return count;
+    }
+
+    private static long readSegment(Path segment, Consumer<byte[]> consumer) throws IOException {
+        long count = 0;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 64 * 1024))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return count; // Fin del segmento
+                }
+                try {
+                    int checksum = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        throw new EOFException("longitud " + length);
+                    }
+                    byte[] record = new byte[length];
+                    in.readFully(record);
+                    crc.reset();
+                    crc.update(record);
+                    if ((int) crc.getValue() != checksum) {
+                        throw new EOFException("CRC no válido");
+                    }
+                    consumer.accept(record);
+                    count++;
+                } catch (EOFException e) {
+                    log.warn("Registro {} de {} incompleto ({}): se ignora el resto del segmento",
+                            count, segment.getFileName(), e.getMessage());
+                    return count;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.sjo.checkers.journal;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de solo escritura en ficheros de segmento ("0000000000000001.journal", ...).
+ * Los registros llegan de cualquier hilo a una cola y un solo hilo los escribe por lotes con
+ * un {@link FileChannel}: todo lo que se acumula mientras se escribe o se hace fsync va en el
+ * lote siguiente, así que muchas salas comparten cada fsync (group commit).
+ * Cada registro va enmarcado como [longitud][CRC32][datos]; al leer, un registro incompleto o
+ * con el CRC mal al final de un segmento es una escritura cortada por una caída y se ignora.
+ * Cada arranque empieza un segmento nuevo.
+ */
+@Slf4j
+public class JournalWriter implements AutoCloseable {
+
+    public static final String SEGMENT_SUFFIX = ".journal";
+    static final int HEADER_BYTES = 8;
+
+    private static final int MAX_BATCH = 4096;
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    @Getter
+    private final Path directory;
+    @Getter
+    private final Durability durability;
+    private final long batchNanos;
+    private final long segmentBytes;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+    private final CRC32 crc = new CRC32();
+    private final Thread worker;
+    private final LongAdder appended = new LongAdder();
+
+    private volatile boolean closed;
+    private FileChannel channel;
+    private volatile long segment;
+    private long segmentSize;
+
+    // record null: cambiar de segmento
+    private record Entry(byte[] record, CompletableFuture<Void> done) {
+    }
+
+    public JournalWriter(Path directory, Durability durability, long batchMillis, long segmentBytes) {
+        this.directory = directory;
+        this.durability = durability;
+        this.batchNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, batchMillis));
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = JournalReader.segments(directory);
+            this.segment = segments.isEmpty() ? 0 : JournalReader.segmentNumber(segments.getLast());
+            openNextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el diario en " + directory, e);
+        }
+        this.worker = new Thread(this::run, "checkers-journal");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Añade un registro al diario. Con durabilidad PER_MOVE el resultado se completa cuando el
+     * registro está en disco; con las demás ya está completado. Después de cerrar el diario
+     * los registros se descartan.
+     */
+    public CompletableFuture<Void> append(byte[] record) {
+        if (closed) {
+            return DONE;
+        }
+        CompletableFuture<Void> done = durability == Durability.PER_MOVE ? new CompletableFuture<>() : null;
+        Entry entry = new Entry(record, done);
+        appended.increment();
+        queue.add(entry);
+        if (closed && queue.remove(entry)) {
+            return DONE; // Se cerró mientras lo añadía y el hilo ya no lo va a ver
+        }
+        return done != null ? done : DONE;
+    }
+
+    /**
+     * Segmento en el que se está escribiendo
+     */
+    public long currentSegment() {
+        return segment;
+    }
+
+    /**
+     * Registros añadidos desde que se abrió el diario
+     */
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    /**
+     * Cierra el segmento actual (con fsync) y empieza otro. Todo lo añadido antes de llamar
+     * queda en segmentos anteriores al devuelto y todo lo añadido después, en él o en los siguientes.
+     */
+    public long rotate() {
+        if (closed) {
+            return segment;
+        }
+        Entry entry = new Entry(null, new CompletableFuture<>());
+        queue.add(entry);
+        if (!(closed && queue.remove(entry))) {
+            entry.done().join();
+        }
+        return segment;
+    }
+
+    /**
+     * Escribe lo pendiente, hace fsync y deja de aceptar registros
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.error("Error al cerrar el diario", e);
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        long lastSync = System.nanoTime();
+        boolean dirty = false;
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(batchNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    write(batch);
+                    dirty = true;
+                }
+                long now = System.nanoTime();
+                if (dirty && (durability == Durability.PER_MOVE
+                        || durability == Durability.BATCHED && now - lastSync >= batchNanos)) {
+                    channel.force(false);
+                    lastSync = now;
+                    dirty = false;
+                }
+                for (Entry entry : batch) {
+                    if (entry.done() != null) {
+                        entry.done().complete(null);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Error al escribir en el diario", e);
+                for (Entry entry : batch) {
+                    if (entry.done() != null) {
+                        entry.done().completeExceptionally(e);
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) throws IOException {
+        for (Entry entry : batch) {
+            if (entry.record() == null || segmentSize >= segmentBytes) {
+                flushBuffer();
+                channel.force(false);
+                channel.close();
+                openNextSegment();
+                if (entry.record() == null) {
+                    continue;
+                }
+            }
+            byte[] record = entry.record();
+            if (buffer.remaining() < HEADER_BYTES + record.length) {
+                flushBuffer();
+            }
+            crc.reset();
+            crc.update(record);
+            if (buffer.remaining() < HEADER_BYTES + record.length) {
+                // No cabe ni con el búfer vacío: se escribe directamente
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(record.length).putInt((int) crc.getValue()).flip();
+                writeFully(header);
+                writeFully(ByteBuffer.wrap(record));
+            } else {
+                buffer.putInt(record.length).putInt((int) crc.getValue()).put(record);
+            }
+            segmentSize += HEADER_BYTES + record.length;
+        }
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        try {
+            writeFully(buffer);
+        } finally {
+            // Si falla, lo que quede es del lote que se da por fallido: no puede colarse en el siguiente
+            buffer.clear();
+        }
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        segment++;
+        channel = FileChannel.open(JournalReader.segmentPath(directory, segment),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+}
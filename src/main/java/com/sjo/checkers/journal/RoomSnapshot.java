@@ -0,0 +1,191 @@
+package com.sjo.checkers.journal;
+
+import com.sjo.checkers.model.*;
+
+import java.io.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Codificación binaria del estado completo de una sala para las instantáneas: sala, asientos,
+ * tablero (los tres bitboards), turno, estado, reloj, saltos aplicados y posiciones desde el
+ * último movimiento irreversible. Al leerla la partida queda como estaba sin volver a jugar
+ * ningún salto. Se codifica desde el buzón de la sala.
+ * El formato 2 añade el token de reconexión de cada asiento; las instantáneas del 1 se siguen
+ * leyendo y sus jugadores quedan sin token.
+ */
+public final class RoomSnapshot {
+
+    private static final int FORMAT = 2;
+    private static final int FORMAT_WITHOUT_TOKENS = 1;
+
+    private RoomSnapshot() {
+    }
+
+    public static byte[] encode(Room room) {
+        Game game = room.getGame();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + game.getVersion() * 4);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeUTF(room.getId());
+            writeString(out, room.getName());
+            writeString(out, room.getCreatorId());
+            out.writeBoolean(room.isVsComputer());
+            out.writeLong(room.getSequence());
+            out.writeLong(epochMillis(room.getCreatedAt()));
+
+            for (PieceColor color : PieceColor.values()) {
+                Player player = game.getPlayer(color);
+                out.writeBoolean(player != null);
+                if (player != null) {
+                    writeString(out, player.getId());
+                    writeString(out, player.getNickname());
+                    out.writeBoolean(player.isBot());
+                    out.writeByte(player.getProtocolVersion());
+                    writeString(out, player.isBot() ? null : player.getReconnectToken());
+                }
+            }
+
+            BitBoard bits = game.getBoard().getBits();
+            out.writeInt(bits.getWhite());
+            out.writeInt(bits.getBlack());
+            out.writeInt(bits.getKings());
+            out.writeByte(game.getCurrentTurn().ordinal());
+            out.writeByte(game.getCapturingSquare());
+            out.writeByte(game.getStatus().ordinal());
+            out.writeByte(game.getDrawReason() != null ? game.getDrawReason().ordinal() : -1);
+            out.writeByte(game.getWinner() != null ? game.getWinner().getColor().ordinal() : -1);
+            out.writeLong(game.getLastMoveAt() != null ? epochMillis(game.getLastMoveAt()) : 0);
+            out.writeLong(game.getBotCpuMillis());
+
+            GameClock clock = game.getClock();
+            out.writeBoolean(clock != null);
+            if (clock != null) {
+                out.writeLong(clock.getInitialMillis());
+                out.writeLong(clock.getIncrementMillis());
+                out.writeLong(clock.getWhiteMillis());
+                out.writeLong(clock.getBlackMillis());
+                out.writeByte(clock.getFlagged() != null ? clock.getFlagged().ordinal() : -1);
+            }
+
+            int[] moves = game.getMovesSince(0);
+            out.writeInt(moves.length);
+            for (int move : moves) {
+                out.writeInt(move);
+            }
+            long[] positions = game.getRecordedPositions();
+            out.writeShort(positions.length);
+            for (long position : positions) {
+                out.writeLong(position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * ID de la sala de una instantánea, sin leer el resto
+     */
+    public static String roomId(byte[] snapshot) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+            in.readByte();
+            return in.readUTF();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sala guardada con {@link #encode(Room)}. Los jugadores humanos quedan sin sesión.
+     */
+    public static Room decode(byte[] snapshot) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+        int format = in.readByte();
+        if (format != FORMAT && format != FORMAT_WITHOUT_TOKENS) {
+            throw new IOException("Formato de instantánea desconocido: " + format);
+        }
+        String id = in.readUTF();
+        Room room = new Room(readString(in), null);
+        room.setId(id);
+        room.setCreatorId(readString(in));
+        room.setVsComputer(in.readBoolean());
+        room.setSequence(in.readLong());
+        room.setCreatedAt(dateTime(in.readLong()));
+
+        Game game = room.getGame();
+        for (PieceColor color : PieceColor.values()) {
+            if (in.readBoolean()) {
+                String playerId = readString(in);
+                Player player = new Player(readString(in), null);
+                player.setId(playerId);
+                player.setBot(in.readBoolean());
+                player.setProtocolVersion(in.readByte());
+                player.setReconnectToken(format == FORMAT ? readString(in) : null);
+                player.setColor(color);
+                if (player.isBot()) {
+                    player.setSessionId("bot-" + playerId);
+                }
+                if (color == PieceColor.WHITE) {
+                    game.setWhitePlayer(player);
+                } else {
+                    game.setBlackPlayer(player);
+                }
+            }
+        }
+
+        BitBoard bits = new BitBoard(in.readInt(), in.readInt(), in.readInt());
+        PieceColor turn = PieceColor.values()[in.readByte()];
+        int capturingSquare = in.readByte();
+        game.setStatus(GameStatus.values()[in.readByte()]);
+        int drawReason = in.readByte();
+        game.setDrawReason(drawReason >= 0 ? DrawReason.values()[drawReason] : null);
+        int winner = in.readByte();
+        game.setWinner(winner >= 0 ? game.getPlayer(PieceColor.values()[winner]) : null);
+        long lastMoveAt = in.readLong();
+        game.setLastMoveAt(lastMoveAt != 0 ? dateTime(lastMoveAt) : null);
+        game.setBotCpuMillis(in.readLong());
+
+        if (in.readBoolean()) {
+            GameClock clock = new GameClock(in.readLong(), in.readLong());
+            clock.restore(in.readLong(), in.readLong());
+            int flagged = in.readByte();
+            if (flagged >= 0) {
+                clock.flag(PieceColor.values()[flagged]);
+            }
+            game.setClock(clock);
+        }
+
+        int[] moves = new int[in.readInt()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = in.readInt();
+        }
+        long[] positions = new long[in.readUnsignedShort()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = in.readLong();
+        }
+        game.restore(bits, turn, capturingSquare, moves, positions);
+        return room;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime dateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
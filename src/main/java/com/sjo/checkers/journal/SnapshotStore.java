@@ -0,0 +1,134 @@
+package com.sjo.checkers.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Ficheros de instantánea junto a los segmentos del diario ("0000000000000007.snapshot").
+ * El número es el primer segmento que no está incluido en la instantánea: al arrancar se
+ * carga la última y se lee el diario desde ese segmento.
+ * Formato: [magia][segmento][número de salas] y por cada sala [longitud][{@link RoomSnapshot}],
+ * terminado con el CRC32 de todo lo anterior. Se escribe en un temporal y se renombra, así
+ * que nunca queda una instantánea a medias con el nombre definitivo.
+ */
+@Slf4j
+public final class SnapshotStore {
+
+    public static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private static final int MAGIC = 0x434B534E; // "CKSN"
+
+    private SnapshotStore() {
+    }
+
+    /**
+     * Salas de una instantánea, aún codificadas, y primer segmento del diario que hay que leer después
+     */
+    public record Snapshot(long segment, List<byte[]> rooms) {
+    }
+
+    public static void write(Path directory, long segment, List<byte[]> rooms) throws IOException {
+        Path target = directory.resolve(String.format("%016d%s", segment, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 64 * 1024), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeLong(segment);
+            out.writeInt(rooms.size());
+            for (byte[] room : rooms) {
+                out.writeInt(room.length);
+                out.write(room);
+            }
+            out.flush();
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Última instantánea válida del directorio, o una vacía (segmento 0) si no hay ninguna
+     */
+    public static Snapshot readLatest(Path directory) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                return read(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Instantánea {} no válida, se prueba la anterior", snapshots.get(i).getFileName(), e);
+            }
+        }
+        return new Snapshot(0, List.of());
+    }
+
+    /**
+     * Borra las instantáneas y los segmentos del diario anteriores a una instantánea ya escrita
+     */
+    public static void prune(Path directory, long segment) throws IOException {
+        for (Path snapshot : snapshots(directory)) {
+            if (number(snapshot, SNAPSHOT_SUFFIX) < segment) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        for (Path journal : JournalReader.segments(directory)) {
+            if (JournalReader.segmentNumber(journal) < segment) {
+                Files.deleteIfExists(journal);
+            }
+        }
+    }
+
+    private static Snapshot read(Path path) throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 64 * 1024), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("No es una instantánea");
+            }
+            long segment = in.readLong();
+            int count = in.readInt();
+            List<byte[]> rooms = new ArrayList<>(Math.min(count, 1024));
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Longitud de sala no válida");
+                }
+                byte[] room = new byte[length];
+                in.readFully(room);
+                rooms.add(room);
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != expected) {
+                throw new IOException("CRC no válido");
+            }
+            return new Snapshot(segment, rooms);
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long number(Path path, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - suffix.length()));
+    }
+}
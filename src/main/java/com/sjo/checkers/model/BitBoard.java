@@ -0,0 +1,515 @@
+package com.sjo.checkers.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Representación del tablero con máscaras de 32 bits, un bit por casilla oscura.
+ * La casilla s corresponde a la fila s / 4 y a la columna 2 * (s % 4) (+1 en filas pares).
+ * Los movimientos se calculan con desplazamientos y máscaras en lugar de recorrer la cuadrícula.
+ */
+public final class BitBoard {
+
+    public static final int SQUARES = 32;
+
+    // Direcciones (las blancas avanzan hacia arriba, las negras hacia abajo)
+    public static final int UP_LEFT = 0;
+    public static final int UP_RIGHT = 1;
+    public static final int DOWN_LEFT = 2;
+    public static final int DOWN_RIGHT = 3;
+
+    private static final int EVEN_ROWS = 0x0F0F0F0F;
+    private static final int ODD_ROWS = 0xF0F0F0F0;
+    private static final int EVEN_ROWS_NOT_RIGHT = 0x07070707; // filas pares sin la columna 7
+    private static final int ODD_ROWS_NOT_LEFT = 0xE0E0E0E0;   // filas impares sin la columna 0
+
+    private static final int WHITE_KING_ROW = 0x0000000F; // fila 0
+    private static final int BLACK_KING_ROW = 0xF0000000; // fila 7
+
+    private static final int BLACK_START = 0x00000FFF; // filas 0-2
+    private static final int WHITE_START = 0xFFF00000; // filas 5-7
+
+    // Claves Zobrist: [blanco peón, blanco dama, negro peón, negro dama][casilla] y turno de negras.
+    // Semilla fija para que el hash de una posición sea el mismo en todas las ejecuciones.
+    private static final long[][] ZOBRIST = new long[4][SQUARES];
+    private static final long ZOBRIST_BLACK_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4EC_4E25L);
+        for (long[] keys : ZOBRIST) {
+            for (int square = 0; square < SQUARES; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        ZOBRIST_BLACK_TO_MOVE = random.nextLong();
+    }
+
+    private int white;
+    private int black;
+    private int kings;
+    private long hash; // Hash Zobrist de las fichas, actualizado de forma incremental
+
+    public BitBoard() {
+    }
+
+    public BitBoard(int white, int black, int kings) {
+        this.white = white;
+        this.black = black;
+        this.kings = kings & (white | black);
+        this.hash = computeHash();
+    }
+
+    private BitBoard(int white, int black, int kings, long hash) {
+        this.white = white;
+        this.black = black;
+        this.kings = kings;
+        this.hash = hash;
+    }
+
+    /**
+     * Tablero con las fichas en su posición inicial
+     */
+    public static BitBoard initial() {
+        return new BitBoard(WHITE_START, BLACK_START, 0);
+    }
+
+    public BitBoard copy() {
+        return new BitBoard(white, black, kings, hash);
+    }
+
+    /**
+     * Copia el contenido de otro tablero en este (sin reservar memoria)
+     */
+    public void copyFrom(BitBoard other) {
+        this.white = other.white;
+        this.black = other.black;
+        this.kings = other.kings;
+        this.hash = other.hash;
+    }
+
+    // ---------------------------------------------------------------------
+    // Conversión entre casillas y coordenadas
+    // ---------------------------------------------------------------------
+
+    /**
+     * Índice de casilla (0-31) para una fila y columna, o -1 si no es una casilla oscura del tablero
+     */
+    public static int square(int row, int col) {
+        if (row < 0 || row > 7 || col < 0 || col > 7 || ((row + col) & 1) == 0) {
+            return -1;
+        }
+        return (row << 2) | (col >> 1);
+    }
+
+    public static int row(int square) {
+        return square >> 2;
+    }
+
+    public static int col(int square) {
+        return ((square & 3) << 1) | (((square >> 2) & 1) ^ 1);
+    }
+
+    /**
+     * Casilla intermedia entre el origen y el destino de un salto
+     */
+    public static int between(int from, int to) {
+        return square((row(from) + row(to)) >> 1, (col(from) + col(to)) >> 1);
+    }
+
+    // ---------------------------------------------------------------------
+    // Desplazamientos
+    // ---------------------------------------------------------------------
+
+    /**
+     * Desplaza todas las casillas de la máscara un paso en la dirección indicada
+     */
+    public static int step(int mask, int direction) {
+        switch (direction) {
+            case UP_LEFT:
+                return ((mask & EVEN_ROWS) >>> 4) | ((mask & ODD_ROWS_NOT_LEFT) >>> 5);
+            case UP_RIGHT:
+                return ((mask & EVEN_ROWS_NOT_RIGHT) >>> 3) | ((mask & ODD_ROWS) >>> 4);
+            case DOWN_LEFT:
+                return ((mask & EVEN_ROWS) << 4) | ((mask & ODD_ROWS_NOT_LEFT) << 3);
+            case DOWN_RIGHT:
+                return ((mask & EVEN_ROWS_NOT_RIGHT) << 5) | ((mask & ODD_ROWS) << 4);
+            default:
+                return 0;
+        }
+    }
+
+    public static int opposite(int direction) {
+        return 3 - direction;
+    }
+
+    private static boolean isForward(PieceColor color, int direction) {
+        return color == PieceColor.WHITE ? direction <= UP_RIGHT : direction >= DOWN_LEFT;
+    }
+
+    // ---------------------------------------------------------------------
+    // Consultas
+    // ---------------------------------------------------------------------
+
+    public int getWhite() {
+        return white;
+    }
+
+    public int getBlack() {
+        return black;
+    }
+
+    public int getKings() {
+        return kings;
+    }
+
+    /**
+     * Hash Zobrist de las fichas (no incluye el turno)
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Hash Zobrist de la posición incluyendo el jugador con el turno
+     */
+    public long hash(PieceColor sideToMove) {
+        return sideToMove == PieceColor.BLACK ? hash ^ ZOBRIST_BLACK_TO_MOVE : hash;
+    }
+
+    private static long zobrist(boolean whitePiece, boolean king, int square) {
+        return ZOBRIST[(whitePiece ? 0 : 2) + (king ? 1 : 0)][square];
+    }
+
+    private long computeHash() {
+        long h = 0;
+        int occupied = white | black;
+        while (occupied != 0) {
+            int square = Integer.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            int bit = 1 << square;
+            h ^= zobrist((white & bit) != 0, (kings & bit) != 0, square);
+        }
+        return h;
+    }
+
+    public int pieces(PieceColor color) {
+        return color == PieceColor.WHITE ? white : black;
+    }
+
+    public int kings(PieceColor color) {
+        return pieces(color) & kings;
+    }
+
+    public int men(PieceColor color) {
+        return pieces(color) & ~kings;
+    }
+
+    /**
+     * Número de fichas de un color (O(1), popcount de la máscara)
+     */
+    public int count(PieceColor color) {
+        return Integer.bitCount(pieces(color));
+    }
+
+    public int kingCount(PieceColor color) {
+        return Integer.bitCount(kings(color));
+    }
+
+    public int occupied() {
+        return white | black;
+    }
+
+    public int empty() {
+        return ~(white | black);
+    }
+
+    public boolean isOccupied(int square) {
+        return ((white | black) & (1 << square)) != 0;
+    }
+
+    public boolean isKing(int square) {
+        return (kings & (1 << square)) != 0;
+    }
+
+    /**
+     * Color de la ficha en una casilla, o null si está vacía
+     */
+    public PieceColor colorAt(int square) {
+        int bit = 1 << square;
+        if ((white & bit) != 0) {
+            return PieceColor.WHITE;
+        }
+        if ((black & bit) != 0) {
+            return PieceColor.BLACK;
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------------
+    // Generación de movimientos
+    // ---------------------------------------------------------------------
+
+    /**
+     * Fichas de un color que tienen al menos una captura disponible
+     */
+    public int jumpers(PieceColor color) {
+        int own = pieces(color);
+        int opponent = color == PieceColor.WHITE ? black : white;
+        int empty = empty();
+        int result = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int candidates = isForward(color, dir) ? own : own & kings;
+            int back = opposite(dir);
+            result |= candidates & step(step(empty, back) & opponent, back);
+        }
+        return result;
+    }
+
+    /**
+     * Fichas de un color que tienen al menos un movimiento simple disponible
+     */
+    public int movers(PieceColor color) {
+        int own = pieces(color);
+        int empty = empty();
+        int result = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int candidates = isForward(color, dir) ? own : own & kings;
+            result |= candidates & step(empty, opposite(dir));
+        }
+        return result;
+    }
+
+    /**
+     * Casillas de destino de las capturas disponibles para la ficha de una casilla
+     */
+    public int captureTargets(int square) {
+        PieceColor color = colorAt(square);
+        if (color == null) {
+            return 0;
+        }
+        int bit = 1 << square;
+        int opponent = color == PieceColor.WHITE ? black : white;
+        int empty = empty();
+        boolean king = isKing(square);
+        int result = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            if (king || isForward(color, dir)) {
+                result |= step(step(bit, dir) & opponent, dir) & empty;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Casillas de destino de los movimientos simples disponibles para la ficha de una casilla
+     */
+    public int moveTargets(int square) {
+        PieceColor color = colorAt(square);
+        if (color == null) {
+            return 0;
+        }
+        int bit = 1 << square;
+        int empty = empty();
+        boolean king = isKing(square);
+        int result = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            if (king || isForward(color, dir)) {
+                result |= step(bit, dir) & empty;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Escribe en el buffer los movimientos legales de un color y devuelve cuántos hay.
+     * Las capturas son obligatorias: si existe alguna solo se generan capturas.
+     * Si capturingSquare >= 0 la ficha de esa casilla está en mitad de una captura múltiple
+     * y solo ella puede seguir capturando.
+     */
+    public int generateMoves(PieceColor color, int capturingSquare, int[] buffer) {
+        int count = generateCaptures(color, capturingSquare, buffer);
+        if (count > 0 || capturingSquare >= 0) {
+            return count;
+        }
+        int movers = movers(color);
+        while (movers != 0) {
+            int from = Integer.numberOfTrailingZeros(movers);
+            movers &= movers - 1;
+            count = addSimpleMoves(from, buffer, count);
+        }
+        return count;
+    }
+
+    /**
+     * Escribe en el buffer las capturas disponibles de un color y devuelve cuántas hay
+     */
+    public int generateCaptures(PieceColor color, int capturingSquare, int[] buffer) {
+        int jumpers = capturingSquare >= 0 ? jumpers(color) & (1 << capturingSquare) : jumpers(color);
+        int count = 0;
+        while (jumpers != 0) {
+            int from = Integer.numberOfTrailingZeros(jumpers);
+            jumpers &= jumpers - 1;
+            count = addCaptures(from, buffer, count);
+        }
+        return count;
+    }
+
+    private int addCaptures(int from, int[] buffer, int count) {
+        PieceColor color = colorAt(from);
+        int bit = 1 << from;
+        int opponent = color == PieceColor.WHITE ? black : white;
+        int empty = empty();
+        boolean king = isKing(from);
+        for (int dir = 0; dir < 4; dir++) {
+            if (!king && !isForward(color, dir)) {
+                continue;
+            }
+            int over = step(bit, dir) & opponent;
+            int land = step(over, dir) & empty;
+            if (land != 0) {
+                boolean promotion = !king && (land & kingRow(color)) != 0;
+                buffer[count++] = PackedMove.capture(from, Integer.numberOfTrailingZeros(land),
+                        Integer.numberOfTrailingZeros(over), promotion);
+            }
+        }
+        return count;
+    }
+
+    private int addSimpleMoves(int from, int[] buffer, int count) {
+        PieceColor color = colorAt(from);
+        int bit = 1 << from;
+        int empty = empty();
+        boolean king = isKing(from);
+        for (int dir = 0; dir < 4; dir++) {
+            if (!king && !isForward(color, dir)) {
+                continue;
+            }
+            int land = step(bit, dir) & empty;
+            if (land != 0) {
+                boolean promotion = !king && (land & kingRow(color)) != 0;
+                buffer[count++] = PackedMove.simple(from, Integer.numberOfTrailingZeros(land), promotion);
+            }
+        }
+        return count;
+    }
+
+    private static int kingRow(PieceColor color) {
+        return color == PieceColor.WHITE ? WHITE_KING_ROW : BLACK_KING_ROW;
+    }
+
+    // ---------------------------------------------------------------------
+    // Modificación
+    // ---------------------------------------------------------------------
+
+    /**
+     * Coloca una ficha en una casilla (sustituye la que hubiera)
+     */
+    public void put(int square, PieceColor color, boolean king) {
+        clear(square);
+        int bit = 1 << square;
+        if (color == PieceColor.WHITE) {
+            white |= bit;
+        } else {
+            black |= bit;
+        }
+        if (king) {
+            kings |= bit;
+        }
+        hash ^= zobrist(color == PieceColor.WHITE, king, square);
+    }
+
+    /**
+     * Vacía una casilla
+     */
+    public void clear(int square) {
+        int bit = 1 << square;
+        if (((white | black) & bit) != 0) {
+            hash ^= zobrist((white & bit) != 0, (kings & bit) != 0, square);
+        }
+        int mask = ~bit;
+        white &= mask;
+        black &= mask;
+        kings &= mask;
+    }
+
+    /**
+     * Mueve la ficha de una casilla a otra (sin validar)
+     */
+    public void move(int from, int to) {
+        int fromBit = 1 << from;
+        int toggle = fromBit | (1 << to);
+        boolean whitePiece = (white & fromBit) != 0;
+        if (whitePiece) {
+            white ^= toggle;
+        } else if ((black & fromBit) != 0) {
+            black ^= toggle;
+        } else {
+            return;
+        }
+        boolean king = (kings & fromBit) != 0;
+        if (king) {
+            kings ^= toggle;
+        }
+        hash ^= zobrist(whitePiece, king, from) ^ zobrist(whitePiece, king, to);
+    }
+
+    /**
+     * Aplica un movimiento codificado con {@link PackedMove} (sin validar)
+     */
+    public void apply(int move) {
+        int to = PackedMove.to(move);
+        move(PackedMove.from(move), to);
+        if (PackedMove.isCapture(move)) {
+            clear(PackedMove.captured(move));
+        }
+        if (PackedMove.isPromotion(move)) {
+            crown(to);
+        }
+    }
+
+    /**
+     * Corona la ficha de una casilla si es un peón que ha llegado a la última fila.
+     * Devuelve true si se ha coronado.
+     */
+    public boolean promoteIfLastRow(int square) {
+        int bit = 1 << square;
+        if ((kings & bit) != 0) {
+            return false;
+        }
+        if ((white & bit & WHITE_KING_ROW) != 0 || (black & bit & BLACK_KING_ROW) != 0) {
+            crown(square);
+            return true;
+        }
+        return false;
+    }
+
+    private void crown(int square) {
+        int bit = 1 << square;
+        if ((kings & bit) == 0 && ((white | black) & bit) != 0) {
+            boolean whitePiece = (white & bit) != 0;
+            kings |= bit;
+            hash ^= zobrist(whitePiece, false, square) ^ zobrist(whitePiece, true, square);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BitBoard)) {
+            return false;
+        }
+        BitBoard other = (BitBoard) o;
+        return white == other.white && black == other.black && kings == other.kings;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * white + black) + kings;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BitBoard(white=%08x, black=%08x, kings=%08x)", white, black, kings);
+    }
+}
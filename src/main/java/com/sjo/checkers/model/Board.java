@@ -1,83 +1,101 @@
 package com.sjo.checkers.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Representa el tablero de juego (8x8)
+ * Representa el tablero de juego (8x8).
+ * El estado real se guarda en un {@link BitBoard}; la cuadrícula de {@link Piece} es una vista
+ * que se construye bajo demanda para el JSON que reciben los clientes.
  */
 @Data
 public class Board {
-    private Piece[][] grid; // 8x8 grid
+    @JsonIgnore
+    private final BitBoard bits;
     private static final int BOARD_SIZE = 8;
 
     public Board() {
-        this.grid = new Piece[BOARD_SIZE][BOARD_SIZE];
-        initializeBoard();
+        this(BitBoard.initial());
+    }
+
+    public Board(BitBoard bits) {
+        this.bits = bits;
     }
 
     /**
-     * Inicializa el tablero con las fichas en sus posiciones iniciales
+     * Construye la cuadrícula 8x8 a partir de las máscaras
      */
-    private void initializeBoard() {
-        // Fichas negras (arriba, filas 0-2)
-        for (int row = 0; row < 3; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                if ((row + col) % 2 == 1) {
-                    grid[row][col] = new Piece(row, col, PieceColor.BLACK);
-                }
+    public Piece[][] getGrid() {
+        Piece[][] grid = new Piece[BOARD_SIZE][BOARD_SIZE];
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            PieceColor color = bits.colorAt(square);
+            if (color != null) {
+                int row = BitBoard.row(square);
+                int col = BitBoard.col(square);
+                grid[row][col] = new Piece(row, col, color, bits.isKing(square));
             }
         }
+        return grid;
+    }
 
-        // Fichas blancas (abajo, filas 5-7)
-        for (int row = 5; row < BOARD_SIZE; row++) {
+    /**
+     * Sustituye el contenido del tablero por el de una cuadrícula 8x8
+     */
+    public void setGrid(Piece[][] grid) {
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            bits.clear(square);
+        }
+        for (int row = 0; row < BOARD_SIZE; row++) {
             for (int col = 0; col < BOARD_SIZE; col++) {
-                if ((row + col) % 2 == 1) {
-                    grid[row][col] = new Piece(row, col, PieceColor.WHITE);
+                if (grid[row][col] != null) {
+                    setPiece(row, col, grid[row][col]);
                 }
             }
         }
     }
 
-    public Piece[][] getGrid() {
-        return grid;
-    }
-
-    public void setGrid(Piece[][] grid) {
-        this.grid = grid;
-    }
-
     /**
      * Obtiene una ficha en una posición específica
      */
     public Piece getPiece(int row, int col) {
-        if (isValidPosition(row, col)) {
-            return grid[row][col];
+        int square = BitBoard.square(row, col);
+        if (square < 0) {
+            return null;
         }
-        return null;
+        PieceColor color = bits.colorAt(square);
+        if (color == null) {
+            return null;
+        }
+        return new Piece(row, col, color, bits.isKing(square));
     }
 
     /**
      * Coloca una ficha en una posición
      */
     public void setPiece(int row, int col, Piece piece) {
-        if (isValidPosition(row, col)) {
-            grid[row][col] = piece;
-            if (piece != null) {
-                piece.setRow(row);
-                piece.setCol(col);
-            }
+        int square = BitBoard.square(row, col);
+        if (square < 0) {
+            return;
+        }
+        if (piece == null) {
+            bits.clear(square);
+            return;
         }
+        bits.put(square, piece.getColor(), piece.isKing());
+        piece.setRow(row);
+        piece.setCol(col);
     }
 
     /**
      * Elimina una ficha del tablero
      */
     public void removePiece(int row, int col) {
-        if (isValidPosition(row, col)) {
-            grid[row][col] = null;
+        int square = BitBoard.square(row, col);
+        if (square >= 0) {
+            bits.clear(square);
         }
     }
 
@@ -89,18 +107,37 @@ public class Board {
     }
 
     /**
-     * Obtiene todas las fichas de un color
+     * Obtiene todas las fichas de un color (solo recorre las casillas ocupadas por ese color)
      */
     public List<Piece> getPiecesByColor(PieceColor color) {
-        List<Piece> pieces = new ArrayList<>();
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                Piece piece = grid[row][col];
-                if (piece != null && piece.getColor() == color) {
-                    pieces.add(piece);
-                }
-            }
+        int mask = bits.pieces(color);
+        List<Piece> pieces = new ArrayList<>(Integer.bitCount(mask));
+        while (mask != 0) {
+            int square = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            pieces.add(new Piece(BitBoard.row(square), BitBoard.col(square), color, bits.isKing(square)));
         }
         return pieces;
     }
-}
\ No newline at end of file
+
+    /**
+     * Número de fichas de un color
+     */
+    public int getPieceCount(PieceColor color) {
+        return bits.count(color);
+    }
+
+    /**
+     * Número de damas de un color
+     */
+    public int getKingCount(PieceColor color) {
+        return bits.kingCount(color);
+    }
+
+    /**
+     * Número de peones (fichas sin coronar) de un color
+     */
+    public int getManCount(PieceColor color) {
+        return bits.count(color) - bits.kingCount(color);
+    }
+}
@@ -0,0 +1,128 @@
+package com.sjo.checkers.model;
+
+/**
+ * Codificación compacta del tablero al estilo FEN de PDN: "W:W21,22,K30:B1,2,3".
+ * La primera letra es el turno; después van las fichas blancas y negras con las casillas
+ * numeradas de 1 a 32 (fila * 4 + columna / 2 + 1) y una K delante de las damas.
+ * Al leer también se aceptan rangos ("B1-12"). Solo se aceptan posiciones que pueden darse
+ * en una partida: cada casilla una vez, 12 fichas por color como mucho y ningún peón en su
+ * fila de coronación (los buffers de movimientos tienen tamaño fijo para 12 fichas).
+ */
+public final class BoardCodec {
+
+    public static final int MAX_PIECES = 12;
+
+    private BoardCodec() {
+    }
+
+    /**
+     * Codifica las fichas y el turno
+     */
+    public static String encode(BitBoard bits, PieceColor sideToMove) {
+        StringBuilder fen = new StringBuilder(96);
+        fen.append(letter(sideToMove));
+        appendPieces(fen, bits, PieceColor.WHITE);
+        appendPieces(fen, bits, PieceColor.BLACK);
+        return fen.toString();
+    }
+
+    private static void appendPieces(StringBuilder fen, BitBoard bits, PieceColor color) {
+        fen.append(':').append(letter(color));
+        int pieces = bits.pieces(color);
+        boolean first = true;
+        while (pieces != 0) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            if (!first) {
+                fen.append(',');
+            }
+            if (bits.isKing(square)) {
+                fen.append('K');
+            }
+            fen.append(square + 1);
+            first = false;
+        }
+    }
+
+    /**
+     * Lee un tablero codificado
+     */
+    public static Board decode(String fen) {
+        String[] sections = split(fen);
+        BitBoard bits = new BitBoard();
+        for (int i = 1; i < sections.length; i++) {
+            String section = sections[i].trim();
+            if (section.isEmpty()) {
+                continue;
+            }
+            PieceColor color = color(section.charAt(0), fen);
+            String list = section.substring(1);
+            if (list.isEmpty()) {
+                continue;
+            }
+            for (String token : list.split(",")) {
+                readPieces(bits, color, token.trim(), fen);
+            }
+        }
+        for (PieceColor color : PieceColor.values()) {
+            if (bits.count(color) > MAX_PIECES) {
+                throw new IllegalArgumentException("Más de " + MAX_PIECES + " fichas de un color en " + fen);
+            }
+        }
+        return new Board(bits);
+    }
+
+    /**
+     * Lee el turno de un tablero codificado
+     */
+    public static PieceColor decodeTurn(String fen) {
+        String turn = split(fen)[0].trim();
+        if (turn.length() != 1) {
+            throw new IllegalArgumentException("Turno no válido en " + fen);
+        }
+        return color(turn.charAt(0), fen);
+    }
+
+    private static void readPieces(BitBoard bits, PieceColor color, String token, String fen) {
+        boolean king = token.startsWith("K");
+        String squares = king ? token.substring(1) : token;
+        try {
+            int dash = squares.indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? squares : squares.substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(squares.substring(dash + 1));
+            if (first < 1 || last > BitBoard.SQUARES || first > last) {
+                throw new IllegalArgumentException("Casilla fuera del tablero en " + fen);
+            }
+            for (int square = first - 1; square < last; square++) {
+                if (bits.isOccupied(square)) {
+                    throw new IllegalArgumentException("Casilla " + (square + 1) + " repetida en " + fen);
+                }
+                if (!king && BitBoard.row(square) == (color == PieceColor.WHITE ? 0 : 7)) {
+                    throw new IllegalArgumentException("Peón en la fila de coronación (" + (square + 1) + ") en " + fen);
+                }
+                bits.put(square, color, king);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Casilla no válida '" + token + "' en " + fen, e);
+        }
+    }
+
+    private static String[] split(String fen) {
+        if (fen == null || fen.isBlank()) {
+            throw new IllegalArgumentException("Tablero codificado vacío");
+        }
+        return fen.split(":");
+    }
+
+    private static char letter(PieceColor color) {
+        return color == PieceColor.WHITE ? 'W' : 'B';
+    }
+
+    private static PieceColor color(char letter, String fen) {
+        return switch (letter) {
+            case 'W' -> PieceColor.WHITE;
+            case 'B' -> PieceColor.BLACK;
+            default -> throw new IllegalArgumentException("Color no válido '" + letter + "' en " + fen);
+        };
+    }
+}
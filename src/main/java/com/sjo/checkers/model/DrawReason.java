@@ -0,0 +1,6 @@
+package com.sjo.checkers.model;
+
+public enum DrawReason {
+    REPETITION,  // La misma posición se ha repetido tres veces
+    NO_PROGRESS  // 40 movimientos de cada jugador sin capturas ni avances de peones
+}
@@ -1,8 +1,14 @@
 package com.sjo.checkers.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @Data
 public class Game {
@@ -15,18 +21,76 @@ public class Game {
     private LocalDateTime createdAt;
     private LocalDateTime lastMoveAt;
     private Player winner;
+    private int capturingSquare = -1; // Casilla de la ficha que está en mitad de una captura múltiple (-1 si ninguna)
+    private DrawReason drawReason;
+    private long botCpuMillis; // CPU consumida por la computadora en esta partida (incluida la reflexión)
+    private GameClock clock;   // Control de tiempo (null si la partida no tiene reloj)
+
+    // Posiciones desde el último movimiento irreversible, para detectar tablas
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final PositionHistory positionHistory = new PositionHistory();
+
+    // Movimientos legales del jugador con el turno, calculados bajo demanda (legalMoveCount = -1 si hay que recalcular)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final int[] legalMoves = new int[PackedMove.MAX_MOVES];
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int legalMoveCount = -1;
+    // Posición para la que se calcularon: el tablero también cambia sin pasar por la partida
+    // (Board.setPiece, setGrid, setBoard...), así que se comprueba antes de usarlos
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int legalWhite, legalBlack, legalKings, legalCapturingSquare;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private PieceColor legalTurn;
+
+    // Saltos aplicados en orden, codificados con PackedMove. La versión del estado es su número.
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] moveLog = new int[64];
+    @Setter(AccessLevel.NONE)
+    private int version;
+    private int broadcastVersion; // Última versión enviada a los clientes
+    private int journalVersion;   // Última versión guardada en el diario
+    private GameStatus journalStatus = GameStatus.WAITING; // Último estado guardado en el diario
+
+    // Estado completo ya serializado, válido mientras no cambie su clave
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CachedState cachedState;
+
+    /**
+     * Todo lo que cambia el estado completo que se envía a los clientes. El reloj cambia sin
+     * cambiar la versión (al ponerlo en marcha, pararlo o recuperar un asiento), así que sus
+     * tiempos y la hora de inicio del turno también forman parte de la clave. De los jugadores
+     * solo cuenta lo que se envía (los apodos): Player es mutable y su equals incluye la sesión.
+     * Sus versiones de protocolo ya van en protocolVersion, que es la de la sala.
+     */
+    public record StateKey(int version, GameStatus status, String white, String black, String winner,
+                           int protocolVersion, long whiteMillis, long blackMillis, long turnStartedAt) {
+    }
+
+    private record CachedState(StateKey key, byte[] bytes) {
+    }
 
     public Game() {
         this.board = new Board();
         this.currentTurn = PieceColor.WHITE; // Las blancas empiezan
         this.status = GameStatus.WAITING;
         this.createdAt = LocalDateTime.now();
+        this.positionHistory.record(board.getBits().hash(currentTurn));
     }
 
     /**
      * Cambia el turno al otro jugador
      */
     public void switchTurn() {
+        if (clock != null && clock.isRunning()) {
+            clock.punch(currentTurn, System.currentTimeMillis());
+        }
         this.currentTurn = (currentTurn == PieceColor.WHITE) ? PieceColor.BLACK : PieceColor.WHITE;
         this.lastMoveAt = LocalDateTime.now();
     }
@@ -37,4 +101,170 @@ public class Game {
     public boolean isPlayerTurn(Player player) {
         return player.getColor() == currentTurn;
     }
-}
\ No newline at end of file
+
+    /**
+     * Jugador sentado con un color (null si el asiento está libre)
+     */
+    public Player getPlayer(PieceColor color) {
+        return color == PieceColor.WHITE ? whitePlayer : blackPlayer;
+    }
+
+    /**
+     * Hash Zobrist de la posición actual (fichas y turno)
+     */
+    public long getPositionHash() {
+        return board.getBits().hash(currentTurn);
+    }
+
+    /**
+     * Registra la posición actual al terminar un turno y devuelve cuántas veces se ha repetido.
+     * Un movimiento irreversible vacía el historial porque las posiciones anteriores ya no pueden volver.
+     */
+    public int recordPosition(boolean irreversible) {
+        if (irreversible) {
+            positionHistory.reset();
+        }
+        return positionHistory.record(getPositionHash());
+    }
+
+    /**
+     * Hashes de las posiciones desde el último movimiento irreversible, en orden
+     */
+    public long[] getRecordedPositions() {
+        long[] positions = new long[positionHistory.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = positionHistory.get(i);
+        }
+        return positions;
+    }
+
+    /**
+     * Vuelve al estado guardado en una instantánea sin jugar de nuevo los saltos: tablero,
+     * turno, captura en curso, saltos aplicados y posiciones desde el último movimiento irreversible
+     */
+    public void restore(BitBoard bits, PieceColor turn, int capturingSquare, int[] moves, long[] positions) {
+        this.board = new Board(bits);
+        this.currentTurn = turn;
+        this.capturingSquare = capturingSquare;
+        this.moveLog = Arrays.copyOf(moves, Math.max(64, moves.length));
+        this.version = moves.length;
+        positionHistory.reset();
+        for (long position : positions) {
+            positionHistory.record(position);
+        }
+        invalidateLegalMoves();
+    }
+
+    /**
+     * Medios movimientos (turnos) desde la última captura o avance de peón
+     */
+    public int getPliesWithoutProgress() {
+        return positionHistory.size() - 1;
+    }
+
+    /**
+     * Añade un salto al historial y avanza la versión del estado
+     */
+    public void recordMove(int move) {
+        if (version == moveLog.length) {
+            moveLog = Arrays.copyOf(moveLog, version * 2);
+        }
+        moveLog[version++] = move;
+    }
+
+    /**
+     * Saltos aplicados desde una versión anterior hasta la actual
+     */
+    public int[] getMovesSince(int fromVersion) {
+        return Arrays.copyOfRange(moveLog, fromVersion, version);
+    }
+
+    /**
+     * Clave del estado actual para el protocolo indicado
+     */
+    public StateKey stateKey(int protocolVersion) {
+        String white = nickname(whitePlayer);
+        String black = nickname(blackPlayer);
+        String winnerName = nickname(winner);
+        if (clock == null) {
+            return new StateKey(version, status, white, black, winnerName, protocolVersion, 0, 0, 0);
+        }
+        return new StateKey(version, status, white, black, winnerName, protocolVersion,
+                clock.getWhiteMillis(), clock.getBlackMillis(), clock.getTurnStartedAt());
+    }
+
+    private static String nickname(Player player) {
+        return player != null ? player.getNickname() : null;
+    }
+
+    /**
+     * Estado serializado guardado para esa clave, o null si ha cambiado desde entonces
+     */
+    public byte[] getCachedState(StateKey key) {
+        CachedState cached = cachedState;
+        return cached != null && cached.key().equals(key) ? cached.bytes() : null;
+    }
+
+    public void cacheState(StateKey key, byte[] bytes) {
+        cachedState = new CachedState(key, bytes);
+    }
+
+    /**
+     * Descarta los movimientos legales calculados (se llama tras modificar el tablero o el turno).
+     * Si se olvida, {@link #getLegalMoveCount()} lo detecta igualmente al comparar la posición.
+     */
+    public void invalidateLegalMoves() {
+        legalMoveCount = -1;
+    }
+
+    /**
+     * Número de movimientos legales del jugador con el turno (0 si está bloqueado)
+     */
+    public int getLegalMoveCount() {
+        BitBoard bits = board.getBits();
+        if (legalMoveCount < 0 || bits.getWhite() != legalWhite || bits.getBlack() != legalBlack
+                || bits.getKings() != legalKings || currentTurn != legalTurn || capturingSquare != legalCapturingSquare) {
+            legalMoveCount = bits.generateMoves(currentTurn, capturingSquare, legalMoves);
+            legalWhite = bits.getWhite();
+            legalBlack = bits.getBlack();
+            legalKings = bits.getKings();
+            legalTurn = currentTurn;
+            legalCapturingSquare = capturingSquare;
+        }
+        return legalMoveCount;
+    }
+
+    /**
+     * Movimiento legal i-ésimo codificado con {@link PackedMove}
+     */
+    public int getLegalMove(int index) {
+        getLegalMoveCount();
+        return legalMoves[index];
+    }
+
+    /**
+     * Busca un movimiento legal por origen y destino; devuelve {@link PackedMove#NONE} si no existe
+     */
+    public int findLegalMove(int from, int to) {
+        int count = getLegalMoveCount();
+        for (int i = 0; i < count; i++) {
+            int move = legalMoves[i];
+            if (PackedMove.from(move) == from && PackedMove.to(move) == to) {
+                return move;
+            }
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Movimientos legales del jugador con el turno, para enviarlos a los clientes
+     */
+    public List<Move> getLegalMoveList() {
+        int count = getLegalMoveCount();
+        List<Move> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(PackedMove.toMove(legalMoves[i]));
+        }
+        return moves;
+    }
+}
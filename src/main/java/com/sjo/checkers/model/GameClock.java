@@ -0,0 +1,91 @@
+package com.sjo.checkers.model;
+
+import lombok.Getter;
+
+/**
+ * Reloj de una partida con control de tiempo: a muerte súbita (sin incremento) o Fischer
+ * (incremento al terminar cada turno). Solo corre el tiempo del jugador con el turno; los
+ * tiempos guardados son los que quedaban al empezar el turno actual.
+ */
+@Getter
+public class GameClock {
+
+    private final long initialMillis;
+    private final long incrementMillis;
+    private long whiteMillis;
+    private long blackMillis;
+    private long turnStartedAt;   // Hora (epoch ms) en que empezó el turno actual; 0 si el reloj está parado
+    private PieceColor flagged;   // Jugador que se ha quedado sin tiempo
+
+    public GameClock(long initialMillis, long incrementMillis) {
+        this.initialMillis = initialMillis;
+        this.incrementMillis = incrementMillis;
+        this.whiteMillis = initialMillis;
+        this.blackMillis = initialMillis;
+    }
+
+    public boolean isRunning() {
+        return turnStartedAt != 0;
+    }
+
+    /**
+     * Pone en marcha el reloj del jugador con el turno
+     */
+    public void start(long now) {
+        turnStartedAt = now;
+    }
+
+    /**
+     * Termina el turno de side: descuenta lo que ha gastado, suma el incremento y arranca el
+     * reloj del rival
+     */
+    public void punch(PieceColor side, long now) {
+        long left = remaining(side, side, now);
+        set(side, left > 0 ? left + incrementMillis : 0);
+        turnStartedAt = now;
+    }
+
+    /**
+     * Para el reloj (fin de partida) descontando lo gastado en el turno en curso
+     */
+    public void stop(PieceColor sideToMove, long now) {
+        if (isRunning()) {
+            set(sideToMove, Math.max(0, remaining(sideToMove, sideToMove, now)));
+            turnStartedAt = 0;
+        }
+    }
+
+    /**
+     * Deja el reloj parado con los tiempos guardados en el diario
+     */
+    public void restore(long whiteMillis, long blackMillis) {
+        this.whiteMillis = whiteMillis;
+        this.blackMillis = blackMillis;
+        turnStartedAt = 0;
+    }
+
+    /**
+     * El jugador se ha quedado sin tiempo
+     */
+    public void flag(PieceColor side) {
+        set(side, 0);
+        flagged = side;
+        turnStartedAt = 0;
+    }
+
+    /**
+     * Tiempo que le queda a side ahora mismo (puede ser negativo si ya se le ha acabado)
+     */
+    public long remaining(PieceColor side, PieceColor sideToMove, long now) {
+        long stored = side == PieceColor.WHITE ? whiteMillis : blackMillis;
+        return side == sideToMove && isRunning() ? stored - (now - turnStartedAt) : stored;
+    }
+
+    private void set(PieceColor side, long millis) {
+        if (side == PieceColor.WHITE) {
+            whiteMillis = millis;
+        } else {
+            blackMillis = millis;
+        }
+    }
+}
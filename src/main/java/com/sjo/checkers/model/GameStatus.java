@@ -4,5 +4,6 @@ public enum GameStatus {
     WAITING,    // Esperando al segundo jugador
     IN_PROGRESS, // Partida en curso
     FINISHED,    // Partida terminada
+    DRAW,        // Partida terminada en tablas
     ABANDONED    // Partida abandonada por desconexión
 }
\ No newline at end of file
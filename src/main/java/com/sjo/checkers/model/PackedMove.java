@@ -0,0 +1,67 @@
+package com.sjo.checkers.model;
+
+/**
+ * Codificación de un movimiento (un salto) en un int:
+ * bits 0-4 origen, 5-9 destino, 10-14 casilla capturada, 15 captura, 16 coronación.
+ * Solo se convierte a {@link Move} en la frontera REST/STOMP.
+ */
+public final class PackedMove {
+
+    /** Máximo de movimientos de un color en una posición (12 fichas x 4 direcciones) */
+    public static final int MAX_MOVES = 48;
+
+    public static final int NONE = -1;
+
+    public static final int FLAG_CAPTURE = 1 << 15;
+    public static final int FLAG_PROMOTION = 1 << 16;
+
+    private PackedMove() {
+    }
+
+    public static int simple(int from, int to, boolean promotion) {
+        return from | (to << 5) | (promotion ? FLAG_PROMOTION : 0);
+    }
+
+    public static int capture(int from, int to, int captured, boolean promotion) {
+        return from | (to << 5) | (captured << 10) | FLAG_CAPTURE | (promotion ? FLAG_PROMOTION : 0);
+    }
+
+    public static int from(int move) {
+        return move & 0x1F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 5) & 0x1F;
+    }
+
+    public static int captured(int move) {
+        return (move >>> 10) & 0x1F;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & FLAG_CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & FLAG_PROMOTION) != 0;
+    }
+
+    /**
+     * Convierte a {@link Move} para enviarlo a los clientes
+     */
+    public static Move toMove(int move) {
+        int from = from(move);
+        int to = to(move);
+        Move.Position capturedPosition = null;
+        if (isCapture(move)) {
+            int captured = captured(move);
+            capturedPosition = new Move.Position(BitBoard.row(captured), BitBoard.col(captured));
+        }
+        return new Move(BitBoard.row(from), BitBoard.col(from), BitBoard.row(to), BitBoard.col(to),
+                isCapture(move), capturedPosition);
+    }
+
+    public static String toString(int move) {
+        return (from(move) + 1) + (isCapture(move) ? "x" : "-") + (to(move) + 1);
+    }
+}
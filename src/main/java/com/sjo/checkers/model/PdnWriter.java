@@ -0,0 +1,118 @@
+package com.sjo.checkers.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Exportación de partidas en PDN (Portable Draughts Notation), GameType 21 (damas inglesas).
+ * Los saltos de una captura múltiple se escriben como una sola jugada ("9x18x27").
+ * Aquí las blancas salen primero desde las casillas 21 a 32, al revés que en la notación
+ * habitual de damas inglesas, así que cada partida lleva su posición inicial en la etiqueta FEN.
+ */
+public final class PdnWriter {
+
+    private static final int LINE_WIDTH = 80;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+    private static final String INITIAL_FEN = BoardCodec.encode(BitBoard.initial(), PieceColor.WHITE);
+
+    private PdnWriter() {
+    }
+
+    /**
+     * Copia de lo que hace falta para escribir una partida, tomada desde el buzón de la sala
+     */
+    public record PdnGame(String event, LocalDate date, String white, String black, String result,
+                          String timeControl, int[] moves) {
+
+        public static PdnGame of(Room room) {
+            Game game = room.getGame();
+            GameClock clock = game.getClock();
+            return new PdnGame(
+                    room.getName(),
+                    room.getCreatedAt().toLocalDate(),
+                    game.getWhitePlayer() != null ? game.getWhitePlayer().getNickname() : null,
+                    game.getBlackPlayer() != null ? game.getBlackPlayer().getNickname() : null,
+                    PdnWriter.result(game),
+                    clock != null ? clock.getInitialMillis() / 1000 + "+" + clock.getIncrementMillis() / 1000 : null,
+                    game.getMovesSince(0)
+            );
+        }
+    }
+
+    /**
+     * Resultado desde el punto de vista de las blancas ("*" si la partida no ha terminado o no
+     * se sabe quién ganó)
+     */
+    public static String result(Game game) {
+        return switch (game.getStatus()) {
+            case FINISHED -> game.getWinner() == null ? "*" : game.getWinner().getColor() == PieceColor.WHITE ? "1-0" : "0-1";
+            case DRAW -> "1/2-1/2";
+            default -> "*";
+        };
+    }
+
+    /**
+     * Escribe la partida: etiquetas, jugadas y resultado, seguidos de una línea en blanco
+     */
+    public static void write(PdnGame game, Writer out) throws IOException {
+        tag(out, "Event", game.event());
+        tag(out, "Date", game.date() != null ? DATE_FORMAT.format(game.date()) : null);
+        tag(out, "White", game.white());
+        tag(out, "Black", game.black());
+        tag(out, "Result", game.result());
+        tag(out, "GameType", "21");
+        tag(out, "FEN", INITIAL_FEN);
+        if (game.timeControl() != null) {
+            tag(out, "TimeControl", game.timeControl());
+        }
+        out.write('\n');
+
+        int[] moves = game.moves();
+        int column = 0;
+        int ply = 0;
+        StringBuilder token = new StringBuilder(16);
+        for (int i = 0; i < moves.length; i++) {
+            int move = moves[i];
+            if (ply % 2 == 0) {
+                column = token(out, (ply / 2 + 1) + ".", column);
+            }
+
+            token.setLength(0);
+            token.append(PackedMove.from(move) + 1)
+                    .append(PackedMove.isCapture(move) ? 'x' : '-')
+                    .append(PackedMove.to(move) + 1);
+            // La captura sigue con la misma ficha mientras no corone (el rival no puede salir de su casilla)
+            while (PackedMove.isCapture(move) && !PackedMove.isPromotion(move) && i + 1 < moves.length
+                    && PackedMove.isCapture(moves[i + 1]) && PackedMove.from(moves[i + 1]) == PackedMove.to(move)) {
+                move = moves[++i];
+                token.append('x').append(PackedMove.to(move) + 1);
+            }
+            column = token(out, token, column);
+            ply++;
+        }
+        token(out, game.result(), column);
+        out.write("\n\n");
+    }
+
+    private static void tag(Writer out, String name, String value) throws IOException {
+        String text = value == null ? "?" : value.replace("\\", "\\\\").replace("\"", "\\\"").replaceAll("[\\r\\n]", " ");
+        out.write('[' + name + " \"" + text + "\"]\n");
+    }
+
+    /**
+     * Escribe una palabra del texto de jugadas partiendo la línea si no cabe; devuelve la nueva columna
+     */
+    private static int token(Writer out, CharSequence token, int column) throws IOException {
+        if (column > 0 && column + 1 + token.length() > LINE_WIDTH) {
+            out.write('\n');
+            column = 0;
+        } else if (column > 0) {
+            out.write(' ');
+            column++;
+        }
+        out.append(token);
+        return column + token.length();
+    }
+}
@@ -1,6 +1,7 @@
 package com.sjo.checkers.model;
 
 import lombok.Data;
+import lombok.ToString;
 
 import java.util.UUID;
 
@@ -10,9 +11,14 @@ public class Player {
     private String nickname;
     private PieceColor color;
     private String sessionId; // Id sesion con WebSocket
+    private boolean bot;      // Jugador controlado por el servidor
+    private int protocolVersion = ProtocolVersion.GRID; // Versión del protocolo negociada con su cliente
+    @ToString.Exclude
+    private String reconnectToken; // Solo lo conoce su cliente: con él recupera el asiento tras un reinicio
 
     public Player(String nickname, String sessionId) {
         this.id = UUID.randomUUID().toString();
+        this.reconnectToken = UUID.randomUUID().toString();
         this.nickname = nickname;
         this.sessionId = sessionId;
     }
@@ -0,0 +1,64 @@
+package com.sjo.checkers.model;
+
+/**
+ * Historial compacto de hashes de posición desde el último movimiento irreversible
+ * (captura o avance de un peón). Las posiciones anteriores no pueden repetirse, así que
+ * el historial se vacía en cada movimiento irreversible y nunca supera el límite de
+ * movimientos sin progreso. Una tabla hash abierta da el número de apariciones en O(1).
+ */
+public class PositionHistory {
+
+    private static final int CAPACITY = 128;
+    private static final int TABLE_SIZE = 256; // potencia de 2, al menos el doble de CAPACITY
+
+    private final long[] hashes = new long[CAPACITY];
+    private final long[] tableKeys = new long[TABLE_SIZE];
+    private final byte[] tableCounts = new byte[TABLE_SIZE];
+    private int size;
+
+    /**
+     * Registra una posición y devuelve cuántas veces ha aparecido (incluida esta)
+     */
+    public int record(long hash) {
+        if (size == CAPACITY) {
+            reset();
+        }
+        hashes[size++] = hash;
+
+        int slot = slot(hash);
+        while (tableCounts[slot] != 0 && tableKeys[slot] != hash) {
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        tableKeys[slot] = hash;
+        return ++tableCounts[slot];
+    }
+
+    /**
+     * Vacía el historial (movimiento irreversible). Solo limpia las entradas usadas.
+     */
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            int slot = slot(hashes[i]);
+            while (tableCounts[slot] != 0) {
+                tableCounts[slot] = 0;
+                slot = (slot + 1) & (TABLE_SIZE - 1);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Número de posiciones registradas desde el último movimiento irreversible
+     */
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        return hashes[index];
+    }
+
+    private static int slot(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & (TABLE_SIZE - 1);
+    }
+}
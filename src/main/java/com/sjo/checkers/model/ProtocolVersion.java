@@ -0,0 +1,24 @@
+package com.sjo.checkers.model;
+
+/**
+ * Versiones del protocolo de estado del juego que entiende cada cliente
+ */
+public final class ProtocolVersion {
+
+    public static final int GRID = 1;     // Tablero como cuadrícula 8x8 de fichas y estado completo tras cada movimiento (clientes antiguos)
+    public static final int COMPACT = 2;  // Tablero codificado con BoardCodec en el campo fen y cambios (GameDeltaResponse) tras cada movimiento
+    public static final int CURRENT = COMPACT;
+
+    private ProtocolVersion() {
+    }
+
+    /**
+     * Versión que se usará con un cliente que pide la indicada (null si no pide ninguna)
+     */
+    public static int negotiate(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return GRID;
+        }
+        return Math.min(requested, CURRENT);
+    }
+}
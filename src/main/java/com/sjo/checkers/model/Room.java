@@ -1,6 +1,8 @@
 package com.sjo.checkers.model;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,6 +15,13 @@ public class Room {
     private int maxPlayers = 2;
     private LocalDateTime createdAt;
     private String creatorId; // ID del jugador que creó la sala
+    private boolean vsComputer; // El segundo asiento lo ocupa la computadora
+    private long sequence;      // Orden de creación, asignado por RoomService (cursor del listado de salas)
+
+    // Cola de tareas que modifican la sala, ejecutadas de una en una (ver RoomExecutor)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final RoomMailbox mailbox = new RoomMailbox();
 
     public Room(String name, String creatorId) {
         this.id = UUID.randomUUID().toString().substring(0, 6).toUpperCase(); // ID corto para facilitar
@@ -56,6 +65,20 @@ public class Room {
         return true;
     }
 
+    /**
+     * Versión del protocolo para los mensajes de la sala: la más baja entre los jugadores
+     * humanos, para que todos entiendan lo que se publica en el topic
+     */
+    public int getProtocolVersion() {
+        int version = ProtocolVersion.CURRENT;
+        for (Player player : new Player[]{game.getWhitePlayer(), game.getBlackPlayer()}) {
+            if (player != null && !player.isBot()) {
+                version = Math.min(version, player.getProtocolVersion());
+            }
+        }
+        return version;
+    }
+
     /**
      * Obtiene el número de jugadores actuales
      */
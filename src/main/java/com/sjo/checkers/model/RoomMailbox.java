@@ -0,0 +1,63 @@
+package com.sjo.checkers.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Buzón de una sala: las tareas se ejecutan de una en una y en el orden de llegada, aunque
+ * los hilos del pool que las ejecuta sean compartidos con otras salas. Así solo un hilo a la
+ * vez modifica la partida y salas distintas avanzan en paralelo.
+ */
+@Slf4j
+public class RoomMailbox {
+
+    private static final int BATCH_SIZE = 32; // Tareas seguidas antes de ceder el hilo a otras salas
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Encola una tarea; si el buzón no estaba programado, lo programa en el executor
+     */
+    public void post(Runnable task, Executor executor) {
+        tasks.add(task);
+        schedule(executor);
+    }
+
+    private void schedule(Executor executor) {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(executor));
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain(Executor executor) {
+        try {
+            Runnable task;
+            int done = 0;
+            while (done < BATCH_SIZE && (task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Error en una tarea del buzón de la sala", e);
+                }
+                done++;
+            }
+        } finally {
+            // También si una tarea lanza un Error: un buzón programado sin hilo no volvería a ejecutar nada
+            scheduled.set(false);
+            // Una tarea pudo llegar después del último poll y antes de soltar el buzón
+            if (!tasks.isEmpty()) {
+                schedule(executor);
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sjo.checkers.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rueda de temporizadores jerárquica: varios niveles de ranuras con listas de temporizadores
+ * y un solo hilo que avanza un tick cada vez. El primer nivel tiene una ranura por tick; cada
+ * nivel siguiente cubre una vuelta entera del anterior por ranura y, cuando llega su turno,
+ * reparte sus temporizadores en el nivel de abajo. Programar y cancelar cuestan O(1) y un
+ * temporizador solo se toca al bajar de nivel (como mucho LEVELS veces) o al vencer, así que
+ * cientos de miles de temporizadores largos no cuestan nada por tick.
+ * Precisión: un tick. Las tareas se ejecutan en el hilo de la rueda y deben ser cortas.
+ */
+@Slf4j
+public class TimerWheel implements AutoCloseable {
+
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final Slot[][] levels;
+    private final int bits;         // log2 de las ranuras por nivel
+    private final int mask;
+    private final long maxDelayTicks;
+    private final Thread worker;
+    private final long startNanos;
+
+    // Cambios que llegan de otros hilos; solo el hilo de la rueda toca las ranuras
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * slotsPerLevel se redondea a la siguiente potencia de dos; el alcance sin recolocar es
+     * tick * slotsPerLevel^4 (con 100 ms y 64 ranuras, unos 19 días)
+     */
+    public TimerWheel(String name, long tickMillis, int slotsPerLevel) {
+        if (tickMillis <= 0 || slotsPerLevel <= 1) {
+            throw new IllegalArgumentException("tick y ranuras deben ser positivos");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = 2;
+        while (size < slotsPerLevel) {
+            size <<= 1;
+        }
+        this.bits = Integer.numberOfTrailingZeros(size);
+        this.mask = size - 1;
+        this.maxDelayTicks = (1L << (bits * LEVELS)) - 1;
+        this.levels = new Slot[LEVELS][size];
+        for (Slot[] level : levels) {
+            for (int i = 0; i < size; i++) {
+                level[i] = new Slot();
+            }
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Ejecuta la tarea pasados delayMillis (como mucho un tick más tarde)
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        Timeout timeout = new Timeout(this, task, deadline);
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Temporizadores programados y aún sin vencer ni cancelar (aproximado)
+     */
+    public int size() {
+        int count = scheduled.size();
+        for (Slot[] level : levels) {
+            for (Slot slot : level) {
+                count += slot.size;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long nextTick = (tick + 1) * tickNanos;
+            long sleepNanos = nextTick - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            removeCancelled();
+            transferScheduled();
+            cascade();
+            levels[0][(int) (tick & mask)].expire(tick);
+            tick++;
+        }
+    }
+
+    /**
+     * Al empezar una vuelta de un nivel, la ranura que toca del nivel superior baja entera
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if (((tick >> (bits * (level - 1))) & mask) != 0) {
+                return;
+            }
+            Slot slot = levels[level][(int) ((tick >> (bits * level)) & mask)];
+            Timeout timeout = slot.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                slot.remove(timeout);
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == Timeout.PENDING) {
+                place(timeout);
+            }
+        }
+    }
+
+    /**
+     * Coloca un temporizador en el nivel que corresponde a lo que le falta; si ya venció se
+     * dispara en el tick actual y si está más lejos que el alcance de la rueda se deja en la
+     * última ranura y se vuelve a colocar al bajar
+     */
+    private void place(Timeout timeout) {
+        long due = Math.max(tick, timeout.deadline / tickNanos);
+        long delay = Math.min(due - tick, maxDelayTicks);
+        due = tick + delay;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) ((due >> (bits * level)) & mask)].add(timeout);
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Temporizador programado; se puede cancelar desde cualquier hilo
+     */
+    public static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private final long deadline; // Nanos desde el arranque de la rueda
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Solo los toca el hilo de la rueda
+        private Slot slot;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimerWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancela el temporizador; false si ya había vencido o estaba cancelado
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isPending() {
+            return state.get() == PENDING;
+        }
+
+        /**
+         * Milisegundos que faltan para que venza (negativo si ya debería haber vencido)
+         */
+        public long remainingMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(deadline - (System.nanoTime() - wheel.startNanos));
+        }
+    }
+
+    /**
+     * Lista doblemente enlazada de los temporizadores de una ranura
+     */
+    private static final class Slot {
+        private Timeout head;
+        private Timeout tail;
+        private int size;
+
+        private void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+            size++;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.slot = null;
+            size--;
+        }
+
+        private void expire(long tick) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                remove(timeout);
+                if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                    try {
+                        timeout.task.run();
+                    } catch (Exception e) {
+                        log.error("Error en un temporizador (tick {})", tick, e);
+                    }
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.engine.Evaluator;
+import com.sjo.checkers.engine.ParallelSearch;
+import com.sjo.checkers.engine.SearchLimits;
+import com.sjo.checkers.engine.SearchResult;
+import com.sjo.checkers.engine.TranspositionTable;
+import com.sjo.checkers.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que controla los asientos ocupados por la computadora
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BotService {
+
+    public static final String BOT_NICKNAME = "Computadora";
+
+    private static final long MIN_MOVE_TIME_MS = 50;   // Tiempo mínimo por movimiento mientras quede presupuesto
+    private static final int EXPECTED_MOVES_LEFT = 20; // Reparto del presupuesto restante entre los próximos movimientos
+
+    private final GameService gameService;
+    private final RoomService roomService;
+    private final RoomExecutor roomExecutor;
+    private final ClockService clockService;
+
+    @Value("${checkers.bot.max-depth:16}")
+    private int maxDepth;
+
+    @Value("${checkers.bot.max-nodes:2000000}")
+    private long maxNodes;
+
+    @Value("${checkers.bot.move-time-ms:1000}")
+    private long moveTimeMillis;
+
+    @Value("${checkers.bot.max-cpu-ms-per-game:120000}")
+    private long maxCpuMillisPerGame;
+
+    @Value("${checkers.bot.ponder:true}")
+    private boolean ponderEnabled;
+
+    @Value("${checkers.bot.pool-size:2}")
+    private int poolSize;
+
+    @Value("${checkers.bot.search-threads:1}")
+    private int searchThreads;
+
+    @Value("${checkers.bot.tt-size-mb:32}")
+    private int tableSizeMb;
+
+    private ParallelSearch search;
+    private ThreadPoolExecutor executor;
+
+    // Reflexión en curso por sala (posición esperada tras la jugada prevista del rival)
+    private final Map<String, Ponder> ponders = new ConcurrentHashMap<>();
+    // Hilos del pool reflexionando: como mucho poolSize - 1, siempre queda uno para las búsquedas reales
+    private final AtomicInteger pondering = new AtomicInteger();
+
+    private static class Ponder {
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final long expectedHash;
+
+        private Ponder(long expectedHash) {
+            this.expectedHash = expectedHash;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        search = new ParallelSearch(new TranspositionTable(tableSizeMb), searchThreads, poolSize);
+        // Pocos hilos y cola acotada: como mucho poolSize búsquedas a la vez, cada una con
+        // searchThreads hilos, así que la computadora no ocupa más de poolSize × searchThreads núcleos
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1024), runnable -> {
+                    Thread thread = new Thread(runnable, "checkers-bot");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        roomService.onGameOver(this::stopPondering);
+        roomService.onRoomRemoved(this::stopPondering);
+        log.info("Computadora lista: profundidad {}, {} nodos, {} ms por movimiento, {} ms de CPU por partida, {} partidas a la vez, {} hilos de búsqueda",
+                maxDepth, maxNodes, moveTimeMillis, maxCpuMillisPerGame, poolSize, searchThreads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ponders.values().forEach(ponder -> ponder.stop.set(true));
+        executor.shutdownNow();
+        search.shutdown();
+    }
+
+    /**
+     * Ocupa el asiento libre de una sala contra la computadora
+     */
+    public Player seatBot(Room room) {
+        if (!room.isVsComputer() || room.isFull()) {
+            return null;
+        }
+        Player bot = new Player(BOT_NICKNAME, "bot-" + UUID.randomUUID());
+        bot.setBot(true);
+        if (!roomService.joinRoom(room.getId(), bot)) {
+            return null;
+        }
+        log.info("Computadora sentada en sala {} con {}", room.getId(), bot.getColor());
+        return bot;
+    }
+
+    /**
+     * Si le toca a la computadora, calcula su jugada en segundo plano y la aplica en el buzón
+     * de la sala. Se llama desde el buzón. onMoved se ejecuta después de cada turno completo
+     * de la computadora.
+     */
+    public void playIfBotTurn(Room room, Runnable onMoved) {
+        Game game = room.getGame();
+        stopPondering(room);
+        if (isBotTurn(game)) {
+            searchNextHop(room, onMoved);
+        }
+    }
+
+    /**
+     * Copia la posición (dentro del buzón) y la busca en el pool de la computadora, sin
+     * bloquear la sala mientras piensa. Con el presupuesto de CPU de la partida agotado ya no
+     * se busca: se juega en el buzón el mejor movimiento a un nivel. Lo mismo si el pool no
+     * admite la búsqueda o falla: la computadora nunca se queda sin jugar su turno.
+     */
+    private void searchNextHop(Room room, Runnable onMoved) {
+        Game game = room.getGame();
+        int version = game.getVersion();
+        if (game.getBotCpuMillis() >= maxCpuMillisPerGame) {
+            playQuickMove(room, version, onMoved);
+            return;
+        }
+
+        BitBoard board = game.getBoard().getBits().copy();
+        PieceColor side = game.getCurrentTurn();
+        int capturingSquare = game.getCapturingSquare();
+        SearchLimits limits = limitsFor(game);
+        try {
+            executor.execute(() -> {
+                try {
+                    SearchResult result = search.search(board, side, capturingSquare, limits);
+                    roomExecutor.execute(room, () -> {
+                        addCpu(game, result.getCpuMillis());
+                        applyHop(room, result, version, onMoved);
+                    });
+                } catch (Exception e) {
+                    log.error("Error de la computadora en sala {}, juega sin buscar", room.getId(), e);
+                    playQuickMove(room, version, onMoved);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Cola de la computadora llena, sala {} juega sin buscar", room.getId());
+            playQuickMove(room, version, onMoved);
+        }
+    }
+
+    /**
+     * Aplica en el buzón el mejor movimiento a un nivel, si la partida sigue en la versión dada
+     */
+    private void playQuickMove(Room room, int version, Runnable onMoved) {
+        roomExecutor.execute(room, () -> applyHop(room, quickMove(room.getGame()), version, onMoved));
+    }
+
+    /**
+     * Aplica un salto de la computadora, de vuelta en el buzón de la sala. Si la partida ha
+     * cambiado mientras buscaba (abandono, fin...) la jugada se descarta. Si la búsqueda no
+     * trae una jugada legal se juega la mejor a un nivel en lugar de perder el turno.
+     */
+    private void applyHop(Room room, SearchResult result, int version, Runnable onMoved) {
+        Game game = room.getGame();
+        if (game.getVersion() != version || !isBotTurn(game)) {
+            return;
+        }
+        if (clockService.flagIfOutOfTime(room)) {
+            return;
+        }
+        int move = result.getMove();
+        if (move != PackedMove.NONE) {
+            log.info("Computadora juega {} (puntuación {}, profundidad {}, {} nodos, {} ms, CPU partida {} ms)",
+                    PackedMove.toString(move), result.getScore(), result.getDepth(),
+                    result.getNodes(), result.getElapsedMillis(), game.getBotCpuMillis());
+        }
+
+        PieceColor side = game.getCurrentTurn();
+        if (move == PackedMove.NONE || !gameService.executeMove(game, PackedMove.toMove(move))) {
+            int fallback = quickMove(game).getMove();
+            if (fallback == PackedMove.NONE) {
+                log.warn("La computadora no tiene movimientos en sala {}", room.getId());
+                return;
+            }
+            log.warn("La computadora generó un movimiento inválido ({}), juega {} sin buscar",
+                    move == PackedMove.NONE ? "ninguno" : PackedMove.toString(move), PackedMove.toString(fallback));
+            if (!gameService.executeMove(game, PackedMove.toMove(fallback))) {
+                return;
+            }
+        }
+        if (game.getCurrentTurn() == side && isBotTurn(game)) {
+            searchNextHop(room, onMoved); // Captura múltiple: sigue saltando
+            return;
+        }
+        onMoved.run();
+        startPondering(room, game);
+    }
+
+    /**
+     * Movimiento legal con la mejor evaluación estática tras jugarlo, sin búsqueda (una
+     * evaluación por movimiento legal)
+     */
+    private SearchResult quickMove(Game game) {
+        PieceColor side = game.getCurrentTurn();
+        BitBoard board = new BitBoard();
+        int best = PackedMove.NONE;
+        int bestScore = Integer.MIN_VALUE;
+        int count = game.getLegalMoveCount();
+        for (int i = 0; i < count; i++) {
+            int move = game.getLegalMove(i);
+            board.copyFrom(game.getBoard().getBits());
+            board.apply(move);
+            int score = Evaluator.evaluate(board, side);
+            if (score > bestScore) {
+                best = move;
+                bestScore = score;
+            }
+        }
+        return new SearchResult(best, bestScore, 1, count, 0, 0);
+    }
+
+    /**
+     * Presupuesto del siguiente movimiento: el tiempo configurado, recortado cuando la partida
+     * se acerca a su límite de CPU o al final de su reloj. Solo se usa mientras queda
+     * presupuesto, así que una partida lo supera como mucho en un movimiento.
+     */
+    private SearchLimits limitsFor(Game game) {
+        long remaining = maxCpuMillisPerGame - game.getBotCpuMillis();
+        long time = Math.min(moveTimeMillis, remaining / EXPECTED_MOVES_LEFT);
+        GameClock clock = game.getClock();
+        if (clock != null) {
+            // Con reloj, el mismo reparto sobre el tiempo que le queda más el incremento
+            long left = clock.remaining(game.getCurrentTurn(), game.getCurrentTurn(), System.currentTimeMillis());
+            time = Math.min(time, left / EXPECTED_MOVES_LEFT + clock.getIncrementMillis() / 2);
+        }
+        time = Math.max(MIN_MOVE_TIME_MS, time);
+        return new SearchLimits(maxDepth, maxNodes, time);
+    }
+
+    /**
+     * Reflexiona durante el turno del rival: supone la respuesta que la tabla de transposiciones
+     * da como mejor y busca la jugada de la computadora en esa posición. Si el rival juega lo
+     * previsto, la búsqueda real encuentra la tabla ya llena.
+     */
+    private void startPondering(Room room, Game game) {
+        if (!ponderEnabled || game.getStatus() != GameStatus.IN_PROGRESS || isBotTurn(game)
+                || game.getCapturingSquare() >= 0 || executor.getActiveCount() >= poolSize) {
+            return;
+        }
+        long remaining = maxCpuMillisPerGame - game.getBotCpuMillis();
+        if (remaining <= 0) {
+            return;
+        }
+
+        BitBoard board = game.getBoard().getBits().copy();
+        PieceColor opponent = game.getCurrentTurn();
+        long entry = search.getTable().probe(board.hash(opponent));
+        int predicted = entry != 0 ? TranspositionTable.move(entry) : PackedMove.NONE;
+        if (predicted == PackedMove.NONE || gameService.findLegalMove(board, opponent, -1,
+                PackedMove.from(predicted), PackedMove.to(predicted)) != predicted) {
+            return;
+        }
+        board.apply(predicted);
+        if (PackedMove.isCapture(predicted) && !PackedMove.isPromotion(predicted)
+                && board.captureTargets(PackedMove.to(predicted)) != 0) {
+            return; // Captura múltiple del rival: no merece la pena prever toda la cadena
+        }
+
+        PieceColor botSide = opponent == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+        if (pondering.incrementAndGet() > poolSize - 1) {
+            pondering.decrementAndGet(); // Otra sala ha cogido el último hilo libre para reflexionar
+            return;
+        }
+        Ponder ponder = new Ponder(board.hash(botSide));
+        ponders.put(room.getId(), ponder);
+        try {
+            executor.execute(() -> {
+                try {
+                    SearchLimits limits = new SearchLimits(maxDepth, 0, Math.min(remaining, moveTimeMillis * 4));
+                    SearchResult result = search.search(board, botSide, -1, limits, ponder.stop);
+                    roomExecutor.execute(room, () -> addCpu(game, result.getCpuMillis()));
+                    log.debug("Reflexión en sala {} tras {}: profundidad {}, {} nodos",
+                            room.getId(), PackedMove.toString(predicted), result.getDepth(), result.getNodes());
+                } finally {
+                    pondering.decrementAndGet();
+                    ponders.remove(room.getId(), ponder);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pondering.decrementAndGet();
+            ponders.remove(room.getId(), ponder);
+        }
+    }
+
+    /**
+     * Para la reflexión de la sala, si la hay: al jugar el rival, al terminar la partida y al
+     * borrar la sala. Se llama desde el buzón.
+     */
+    private void stopPondering(Room room) {
+        Ponder ponder = ponders.remove(room.getId());
+        if (ponder == null) {
+            return;
+        }
+        ponder.stop.set(true);
+        boolean hit = room.getGame().getPositionHash() == ponder.expectedHash;
+        log.debug("Sala {}: el rival {} la jugada prevista", room.getId(), hit ? "ha jugado" : "no ha jugado");
+    }
+
+    /**
+     * Suma a la partida la CPU de una búsqueda. Solo desde el buzón, como el resto de la partida.
+     */
+    private void addCpu(Game game, long cpuMillis) {
+        game.setBotCpuMillis(game.getBotCpuMillis() + cpuMillis);
+    }
+
+    private boolean isBotTurn(Game game) {
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            return false;
+        }
+        Player current = game.getCurrentTurn() == PieceColor.WHITE ? game.getWhitePlayer() : game.getBlackPlayer();
+        return current != null && current.isBot();
+    }
+}
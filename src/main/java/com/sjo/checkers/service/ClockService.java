@@ -0,0 +1,120 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.model.*;
+import com.sjo.checkers.scheduler.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Relojes de las partidas con control de tiempo. Cada partida tiene como mucho un temporizador
+ * en la rueda compartida: la caída de bandera del jugador con el turno, que se vuelve a armar
+ * al terminar cada turno.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClockService {
+
+    private final TimerWheel timerWheel;
+    private final RoomExecutor roomExecutor;
+    private final RoomService roomService;
+    private final GameStatePublisher statePublisher;
+    private final RoomJournal roomJournal;
+
+    // Caída de bandera programada de cada sala
+    private final Map<String, TimerWheel.Timeout> flags = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        roomService.onRoomRemoved(this::release);
+    }
+
+    /**
+     * Pone en marcha el reloj al empezar la partida y lo vuelve a armar al terminar cada turno;
+     * si la partida ha terminado lo para. Se llama desde el buzón de la sala.
+     */
+    public void arm(Room room) {
+        Game game = room.getGame();
+        GameClock clock = game.getClock();
+        if (clock == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            clock.stop(game.getCurrentTurn(), now);
+            cancel(room);
+            return;
+        }
+        if (!clock.isRunning()) {
+            clock.start(now);
+        }
+
+        int version = game.getVersion();
+        long remaining = clock.remaining(game.getCurrentTurn(), game.getCurrentTurn(), now);
+        TimerWheel.Timeout timeout = timerWheel.schedule(
+                () -> roomExecutor.execute(room, () -> onDeadline(room, version)), Math.max(0, remaining));
+        TimerWheel.Timeout previous = flags.put(room.getId(), timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Si al jugador con el turno se le ha acabado el tiempo, termina la partida y lo publica.
+     * Se comprueba también antes de aplicar cada movimiento, para no aceptar uno que llega
+     * después de la bandera pero antes que su temporizador. Devuelve true si ha caído.
+     */
+    public boolean flagIfOutOfTime(Room room) {
+        Game game = room.getGame();
+        GameClock clock = game.getClock();
+        if (clock == null || !clock.isRunning() || game.getStatus() != GameStatus.IN_PROGRESS) {
+            return false;
+        }
+        PieceColor side = game.getCurrentTurn();
+        if (clock.remaining(side, side, System.currentTimeMillis()) > 0) {
+            return false;
+        }
+
+        clock.flag(side);
+        game.setStatus(GameStatus.FINISHED);
+        game.setWinner(game.getPlayer(side == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE));
+        cancel(room);
+        log.info("Sala {}: las {} se han quedado sin tiempo", room.getId(), side == PieceColor.WHITE ? "blancas" : "negras");
+
+        roomJournal.recordProgress(room);
+        statePublisher.publishDelta(room);
+        roomService.refreshExpiry(room);
+        return true;
+    }
+
+    /**
+     * Quita el temporizador de una sala que se borra
+     */
+    public void release(Room room) {
+        cancel(room);
+    }
+
+    private void onDeadline(Room room, int version) {
+        if (roomService.getRoom(room.getId()) != room) {
+            return; // Sala borrada mientras el temporizador esperaba en el buzón
+        }
+        if (room.getGame().getVersion() != version) {
+            return; // Ya se ha movido: el temporizador vigente es otro
+        }
+        if (!flagIfOutOfTime(room) && room.getGame().getStatus() == GameStatus.IN_PROGRESS) {
+            arm(room); // Venció un poco antes por el ajuste del reloj del sistema
+        }
+    }
+
+    private void cancel(Room room) {
+        TimerWheel.Timeout timeout = flags.remove(room.getId());
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,220 +15,329 @@ import java.util.List;
 @Slf4j
 public class GameService {
 
+    private static final int REPETITION_LIMIT = 3;     // Triple repetición
+    private static final int NO_PROGRESS_LIMIT = 80;   // 40 movimientos de cada jugador
+    private static final int MAX_PATH_LENGTH = 16;     // Origen más los saltos de una captura múltiple (12 como mucho)
+
     /**
      * Valida y ejecuta un movimiento
      */
     public boolean executeMove(Game game, Move move) {
+        // Tras unas tablas, un abandono o una caída de bandera aún quedan movimientos legales
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            log.warn("La partida no está en curso: {}", game.getStatus());
+            return false;
+        }
+
         Board board = game.getBoard();
-        Piece piece = board.getPiece(move.getFromRow(), move.getFromCol());
+        BitBoard bits = board.getBits();
+        int from = BitBoard.square(move.getFromRow(), move.getFromCol());
 
         log.info("=== EJECUTANDO MOVIMIENTO ===");
         log.info("De: ({},{}) a ({},{})",move.getFromRow(), move.getFromCol(), move.getToRow(), move.getToCol());
         log.info("Es captura según move: {}", move.isCapture());
 
         // Validaciones básicas
-        if (piece == null) {
+        if (from < 0 || !bits.isOccupied(from)) {
             log.warn("No hay ficha en la posición de origen");
             return false;
         }
 
-        log.info("Ficha: color={}, king={}, pos=({},{})",piece.getColor(), piece.isKing(), piece.getRow(), piece.getCol());
+        PieceColor color = bits.colorAt(from);
+        log.info("Ficha: color={}, king={}, casilla={}", color, bits.isKing(from), from);
 
         // IMPORTANTE: Verificar que sea el turno del jugador
-        if (piece.getColor() != game.getCurrentTurn()) {
-            log.warn("No es el turno de este jugador. Turno actual: {}, color de ficha: {}", game.getCurrentTurn(), piece.getColor());
+        if (color != game.getCurrentTurn()) {
+            log.warn("No es el turno de este jugador. Turno actual: {}, color de ficha: {}", game.getCurrentTurn(), color);
             return false;
         }
 
-        // Verificar si el movimiento es válido
+        // En mitad de una captura múltiple solo puede seguir la misma ficha
+        if (game.getCapturingSquare() >= 0 && game.getCapturingSquare() != from) {
+            log.warn("Debe continuar capturando con la ficha de la casilla {}", game.getCapturingSquare());
+            return false;
+        }
+
+        // Verificar si el movimiento es válido (búsqueda en los movimientos legales de la posición)
         log.info("Validando movimiento...");
-        if (!isValidMove(board, piece, move)) {
+        int to = BitBoard.square(move.getToRow(), move.getToCol());
+        int packed = to < 0 ? PackedMove.NONE : game.findLegalMove(from, to);
+        if (packed == PackedMove.NONE) {
             log.warn("Movimiento no válido");
             return false;
         }
 
         log.info("✅ Movimiento válido, ejecutando...");
 
-        // Ejecutar el movimiento
-        board.removePiece(move.getFromRow(), move.getFromCol());
-        board.setPiece(move.getToRow(), move.getToCol(), piece);
+        // Ejecutar el movimiento (si es una captura también elimina la ficha capturada)
+        applyMove(game, packed);
 
-        // Si es una captura, eliminar la ficha capturada
-        if (move.isCapture() && move.getCapturedPosition() != null) {
-            log.info("Eliminando ficha capturada en ({},{})",
-                    move.getCapturedPosition().getRow(),
-                    move.getCapturedPosition().getCol());
-            board.removePiece(
-                    move.getCapturedPosition().getRow(),
-                    move.getCapturedPosition().getCol()
-            );
+        if (PackedMove.isCapture(packed)) {
+            int captured = PackedMove.captured(packed);
+            log.info("Ficha capturada en ({},{})", BitBoard.row(captured), BitBoard.col(captured));
+            move.setCapture(true);
+            move.setCapturedPosition(new Move.Position(BitBoard.row(captured), BitBoard.col(captured)));
+        }
 
+        log.info("=== MOVIMIENTO EJECUTADO EXITOSAMENTE ===");
+        return true;
+    }
+
+    /**
+     * Vuelve a aplicar un salto guardado en el diario (al recuperar las partidas tras un
+     * reinicio). Devuelve false si no es legal en la posición actual.
+     */
+    public boolean replayMove(Game game, int packed) {
+        int from = PackedMove.from(packed);
+        if (game.getStatus() != GameStatus.IN_PROGRESS
+                || (game.getCapturingSquare() >= 0 && game.getCapturingSquare() != from)
+                || game.findLegalMove(from, PackedMove.to(packed)) != packed) {
+            return false;
+        }
+        applyMove(game, packed);
+        return true;
+    }
+
+    /**
+     * Aplica un salto legal: tablero, historial, turno y fin de partida
+     */
+    private void applyMove(Game game, int packed) {
+        BitBoard bits = game.getBoard().getBits();
+        int from = PackedMove.from(packed);
+        int to = PackedMove.to(packed);
+        boolean irreversible = PackedMove.isCapture(packed) || !bits.isKing(from);
+        bits.apply(packed);
+        game.recordMove(packed);
+        boolean turnEnded = true;
+
+        if (PackedMove.isCapture(packed)) {
             // Verificar si hay más capturas disponibles con la misma ficha
-            if (!hasMoreCaptures(board, piece)) {
-                checkAndPromoteToKing(board, piece);
+            if (!PackedMove.isPromotion(packed) && hasMoreCaptures(bits, to)) {
+                game.setCapturingSquare(to);
+                turnEnded = false;
+                log.info("Hay más capturas disponibles, no se cambia el turno");
+            } else {
+                game.setCapturingSquare(-1);
                 game.switchTurn();
                 log.info("Turno cambiado a: {}", game.getCurrentTurn());
-            } else {
-                log.info("Hay más capturas disponibles, no se cambia el turno");
             }
         } else {
-            checkAndPromoteToKing(board, piece);
             game.switchTurn();
             log.info("Turno cambiado a: {}", game.getCurrentTurn());
         }
+        game.invalidateLegalMoves();
 
         // Verificar si hay un ganador
         checkWinCondition(game);
 
-        log.info("=== MOVIMIENTO EJECUTADO EXITOSAMENTE ===");
-        return true;
+        // Verificar tablas al terminar el turno
+        if (turnEnded) {
+            checkDrawCondition(game, irreversible);
+        }
     }
 
     /**
-     * Valida si un movimiento es legal
+     * Valida y ejecuta una captura múltiple completa enviada de una vez (origen y cada casilla
+     * de aterrizaje). La secuencia se comprueba entera sobre una copia del tablero antes de
+     * tocar la partida: cada salto debe ser legal y la secuencia debe acabar justo cuando
+     * termina el turno. Si algo falla la partida queda intacta.
      */
-    public boolean isValidMove(Board board, Piece piece, Move move) {
-        int fromRow = move.getFromRow();
-        int fromCol = move.getFromCol();
-        int toRow = move.getToRow();
-        int toCol = move.getToCol();
-
-        // Verificar que el destino esté dentro del tablero
-        if (!board.isValidPosition(toRow, toCol)) {
+    public boolean executePath(Game game, List<Move.Position> path) {
+        if (path == null || path.size() < 2 || game.getStatus() != GameStatus.IN_PROGRESS) {
             return false;
         }
 
-        // Verificar que el destino esté vacío
-        if (board.getPiece(toRow, toCol) != null) {
+        BitBoard bits = game.getBoard().getBits().copy();
+        PieceColor color = game.getCurrentTurn();
+        int capturingSquare = game.getCapturingSquare();
+        int[] hops = new int[path.size() - 1];
+
+        for (int i = 0; i < hops.length; i++) {
+            // Tras el primer salto solo se puede seguir si la captura continúa
+            if (i > 0 && capturingSquare < 0) {
+                log.warn("La secuencia sigue después de terminar el turno");
+                return false;
+            }
+            Move.Position fromPosition = path.get(i);
+            Move.Position toPosition = path.get(i + 1);
+            int from = BitBoard.square(fromPosition.getRow(), fromPosition.getCol());
+            int to = BitBoard.square(toPosition.getRow(), toPosition.getCol());
+
+            int packed = findLegalMove(bits, color, capturingSquare, from, to);
+            if (packed == PackedMove.NONE || (hops.length > 1 && !PackedMove.isCapture(packed))) {
+                log.warn("Salto {} de la secuencia no válido", i + 1);
+                return false;
+            }
+            bits.apply(packed);
+            hops[i] = packed;
+            capturingSquare = PackedMove.isCapture(packed) && !PackedMove.isPromotion(packed)
+                    && hasMoreCaptures(bits, to) ? to : -1;
+        }
+
+        if (capturingSquare >= 0) {
+            log.warn("Secuencia de captura incompleta: la ficha debe seguir capturando");
             return false;
         }
 
-        // Verificar que se mueva en diagonal
-        int rowDiff = Math.abs(toRow - fromRow);
-        int colDiff = Math.abs(toCol - fromCol);
+        // Secuencia válida: se ejecuta salto a salto para actualizar turno, victoria y tablas.
+        // Cada salto ya se ha validado sobre una copia de esta misma posición, así que no puede
+        // fallar; si fallara, la partida quedaría a medio turno y es un error del programa.
+        for (int hop : hops) {
+            if (!executeMove(game, PackedMove.toMove(hop))) {
+                throw new IllegalStateException("Salto validado rechazado: " + PackedMove.toString(hop));
+            }
+        }
+        return true;
+    }
 
-        if (rowDiff != colDiff) {
+    /**
+     * Valida si un movimiento es legal
+     */
+    public boolean isValidMove(Board board, Piece piece, Move move) {
+        BitBoard bits = board.getBits();
+        int from = BitBoard.square(move.getFromRow(), move.getFromCol());
+        int to = BitBoard.square(move.getToRow(), move.getToCol());
+
+        // Origen y destino deben ser casillas oscuras del tablero y el origen debe tener ficha
+        if (from < 0 || to < 0 || piece == null || !bits.isOccupied(from)) {
             return false;
         }
 
-        // Si hay capturas obligatorias disponibles, el jugador debe capturar
-        List<Move> captures = getAvailableCaptures(board, piece.getColor());
-        if (!captures.isEmpty() && !move.isCapture()) {
+        int packed = findLegalMove(bits, bits.colorAt(from), -1, from, to);
+        if (packed == PackedMove.NONE) {
             return false;
         }
 
-        // Movimiento simple (1 casilla)
-        if (rowDiff == 1) {
-            return isValidSimpleMove(piece, fromRow, toRow);
+        // Actualizar el movimiento con la posición capturada
+        if (PackedMove.isCapture(packed)) {
+            int captured = PackedMove.captured(packed);
+            move.setCapture(true);
+            move.setCapturedPosition(new Move.Position(BitBoard.row(captured), BitBoard.col(captured)));
         }
+        return true;
+    }
+
+    /**
+     * Busca el movimiento legal de origen a destino y lo devuelve codificado,
+     * o {@link PackedMove#NONE} si no es legal. No reserva memoria.
+     */
+    public int findLegalMove(BitBoard bits, PieceColor color, int capturingSquare, int from, int to) {
+        if (from < 0 || to < 0 || bits.colorAt(from) != color) {
+            return PackedMove.NONE;
+        }
+        if (capturingSquare >= 0 && capturingSquare != from) {
+            return PackedMove.NONE;
+        }
+
+        int target = 1 << to;
+        boolean promotion = !bits.isKing(from) && BitBoard.row(to) == (color == PieceColor.WHITE ? 0 : 7);
 
         // Captura (2 casillas)
-        if (rowDiff == 2) {
-            return isValidCapture(board, piece, move);
+        if ((bits.captureTargets(from) & target) != 0) {
+            return PackedMove.capture(from, to, BitBoard.between(from, to), promotion);
         }
 
-        return false;
+        // Si hay capturas obligatorias disponibles, el jugador debe capturar
+        if (capturingSquare >= 0 || bits.jumpers(color) != 0) {
+            return PackedMove.NONE;
+        }
+
+        // Movimiento simple (1 casilla)
+        if ((bits.moveTargets(from) & target) != 0) {
+            return PackedMove.simple(from, to, promotion);
+        }
+        return PackedMove.NONE;
     }
 
     /**
-     * Verifica si un movimiento simple es válido
+     * Escribe en un buffer del llamante los movimientos legales del jugador con el turno
+     * (respetando capturas obligatorias y capturas múltiples en curso) y devuelve cuántos hay
      */
-    private boolean isValidSimpleMove(Piece piece, int fromRow, int toRow) {
-        if (piece.isKing()) {
-            return true;
+    public int generateMoves(Game game, int[] buffer) {
+        int count = game.getLegalMoveCount();
+        for (int i = 0; i < count; i++) {
+            buffer[i] = game.getLegalMove(i);
         }
+        return count;
+    }
 
-        // Fichas blancas se mueven hacia arriba (row decrece)
-        if (piece.getColor() == PieceColor.WHITE) {
-            return toRow < fromRow;
+    /**
+     * Movimientos legales completos del jugador con el turno, para enviarlos a los clientes.
+     * Cada movimiento es un camino: casilla de origen y cada casilla de aterrizaje (las capturas
+     * múltiples se expanden en todas sus ramas). Se calcula una vez por posición.
+     */
+    public List<List<Move.Position>> getLegalPaths(Game game) {
+        List<int[]> squarePaths = getLegalSquarePaths(game);
+        List<List<Move.Position>> paths = new ArrayList<>(squarePaths.size());
+        for (int[] squares : squarePaths) {
+            List<Move.Position> path = new ArrayList<>(squares.length);
+            for (int square : squares) {
+                path.add(new Move.Position(BitBoard.row(square), BitBoard.col(square)));
+            }
+            paths.add(path);
         }
-
-        // Fichas negras se mueven hacia abajo (row crece)
-        return toRow > fromRow;
+        return paths;
     }
 
     /**
-     * Verifica si una captura es válida
+     * Los mismos caminos que {@link #getLegalPaths(Game)} con casillas numeradas de 0 a 31,
+     * para los mensajes compactos
      */
-    private boolean isValidCapture(Board board, Piece piece, Move move) {
-        int fromRow = move.getFromRow();
-        int fromCol = move.getFromCol();
-        int toRow = move.getToRow();
-        int toCol = move.getToCol();
-
-        log.debug("Validando captura: de ({},{}) a ({},{})", fromRow, fromCol, toRow, toCol);
-
-        // Calcular la posición de la ficha a capturar
-        int capturedRow = (fromRow + toRow) / 2;
-        int capturedCol = (fromCol + toCol) / 2;
-
-        log.debug("Posición de captura calculada: ({},{})", capturedRow, capturedCol);
-
-        Piece capturedPiece = board.getPiece(capturedRow, capturedCol);
-
-        // Debe haber una ficha del oponente en el medio
-        if (capturedPiece == null) {
-            log.warn("No hay ficha en la posición de captura ({},{})", capturedRow, capturedCol);
-            return false;
+    public List<int[]> getLegalSquarePaths(Game game) {
+        List<int[]> paths = new ArrayList<>();
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            return paths;
         }
 
-        if (capturedPiece.getColor() == piece.getColor()) {
-            log.warn("La ficha a capturar es del mismo color");
-            return false;
+        BitBoard bits = game.getBoard().getBits();
+        int[] squares = new int[MAX_PATH_LENGTH];
+        int count = game.getLegalMoveCount();
+        for (int i = 0; i < count; i++) {
+            int move = game.getLegalMove(i);
+            squares[0] = PackedMove.from(move);
+            collectPaths(bits, game.getCurrentTurn(), move, squares, 1, paths);
         }
+        return paths;
+    }
 
-        log.debug("Ficha a capturar: color={}, pos=({},{})",
-                capturedPiece.getColor(), capturedRow, capturedCol);
-
-        // Si no es una dama, verificar dirección
-        if (!piece.isKing()) {
-            if (piece.getColor() == PieceColor.WHITE && toRow > fromRow) {
-                log.warn("Ficha blanca intentando capturar hacia atrás");
-                return false;
-            }
-            if (piece.getColor() == PieceColor.BLACK && toRow < fromRow) {
-                log.warn("Ficha negra intentando capturar hacia atrás");
-                return false;
+    private void collectPaths(BitBoard bits, PieceColor color, int move, int[] squares, int length, List<int[]> paths) {
+        int to = PackedMove.to(move);
+        squares[length++] = to;
+
+        // Si la captura continúa, el camino sigue por cada salto posible
+        if (PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) {
+            BitBoard next = bits.copy();
+            next.apply(move);
+            if (hasMoreCaptures(next, to)) {
+                int[] buffer = new int[PackedMove.MAX_MOVES];
+                int count = next.generateCaptures(color, to, buffer);
+                for (int i = 0; i < count; i++) {
+                    collectPaths(next, color, buffer[i], squares, length, paths);
+                }
+                return;
             }
         }
-
-        // Actualizar el movimiento con la posición capturada
-        move.setCapture(true);
-        move.setCapturedPosition(new Move.Position(capturedRow, capturedCol));
-
-        log.debug("Captura válida confirmada");
-        return true;
+        paths.add(Arrays.copyOf(squares, length));
     }
 
     /**
      * Obtiene todos los movimientos válidos para una ficha
      */
     public List<Move> getValidMoves(Board board, Piece piece) {
+        BitBoard bits = board.getBits();
+        int from = BitBoard.square(piece.getRow(), piece.getCol());
         List<Move> moves = new ArrayList<>();
-
-        // Primero buscar capturas
-        List<Move> captures = getValidCapturesForPiece(board, piece);
-        if (!captures.isEmpty()) {
-            return captures;
+        if (from < 0 || !bits.isOccupied(from)) {
+            return moves;
         }
 
-        // Si no hay capturas, buscar movimientos simples
-        int[] directions = piece.isKing() ?
-                new int[]{-1, 1} : // Damas pueden ir en ambas direcciones
-                (piece.getColor() == PieceColor.WHITE ? new int[]{-1} : new int[]{1}); // Normal solo adelante
-
-        for (int rowDir : directions) {
-            for (int colDir : new int[]{-1, 1}) {
-                int newRow = piece.getRow() + rowDir;
-                int newCol = piece.getCol() + colDir;
-
-                Move move = new Move(piece.getRow(), piece.getCol(), newRow, newCol, false, null);
-                if (isValidMove(board, piece, move)) {
-                    moves.add(move);
-                }
+        int[] buffer = new int[PackedMove.MAX_MOVES];
+        int count = bits.generateMoves(bits.colorAt(from), -1, buffer);
+        for (int i = 0; i < count; i++) {
+            if (PackedMove.from(buffer[i]) == from) {
+                moves.add(PackedMove.toMove(buffer[i]));
             }
         }
-
         return moves;
     }
 
@@ -235,134 +345,63 @@ public class GameService {
      * Obtiene todas las capturas disponibles para un color
      */
     public List<Move> getAvailableCaptures(Board board, PieceColor color) {
-        List<Move> allCaptures = new ArrayList<>();
-        List<Piece> pieces = board.getPiecesByColor(color);
-
-        log.debug("Buscando capturas para color: {}, fichas: {}", color, pieces.size());
+        int[] buffer = new int[PackedMove.MAX_MOVES];
+        int count = board.getBits().generateCaptures(color, -1, buffer);
 
-        for (Piece piece : pieces) {
-            // Obtener capturas válidas para esta ficha SIN validar el movimiento completo
-            List<Move> capturesForPiece = getValidCapturesForPiece(board, piece);
-            allCaptures.addAll(capturesForPiece);
+        List<Move> allCaptures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            allCaptures.add(PackedMove.toMove(buffer[i]));
         }
 
-        log.debug("Total capturas encontradas: {}", allCaptures.size());
+        log.debug("Total capturas encontradas para {}: {}", color, allCaptures.size());
         return allCaptures;
     }
 
-    /**
-     * Obtiene capturas válidas para una ficha específica (sin validación completa de movimiento)
-     */
-    private List<Move> getValidCapturesForPiece(Board board, Piece piece) {
-        List<Move> captures = new ArrayList<>();
-
-        // Determinar direcciones según si es dama o no
-        int[][] directions;
-        if (piece.isKing()) {
-            directions = new int[][]{{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
-        } else if (piece.getColor() == PieceColor.WHITE) {
-            directions = new int[][]{{-1, -1}, {-1, 1}}; // Blancas hacia arriba
-        } else {
-            directions = new int[][]{{1, -1}, {1, 1}}; // Negras hacia abajo
-        }
-
-        for (int[] dir : directions) {
-            int jumpRow = piece.getRow() + (2 * dir[0]);
-            int jumpCol = piece.getCol() + (2 * dir[1]);
-            int middleRow = piece.getRow() + dir[0];
-            int middleCol = piece.getCol() + dir[1];
-
-            // Verificar que el salto esté dentro del tablero
-            if (!board.isValidPosition(jumpRow, jumpCol)) {
-                continue;
-            }
-
-            // Verificar que haya una ficha enemiga en el medio
-            Piece middlePiece = board.getPiece(middleRow, middleCol);
-            if (middlePiece == null || middlePiece.getColor() == piece.getColor()) {
-                continue;
-            }
-
-            // Verificar que el destino esté vacío
-            Piece targetPiece = board.getPiece(jumpRow, jumpCol);
-            if (targetPiece != null) {
-                continue;
-            }
-
-            // Es una captura válida
-            Move captureMove = new Move(
-                    piece.getRow(),
-                    piece.getCol(),
-                    jumpRow,
-                    jumpCol,
-                    true,
-                    new Move.Position(middleRow, middleCol)
-            );
-
-            captures.add(captureMove);
-        }
-
-        return captures;
-    }
-
     /**
      * Verifica si una ficha tiene más capturas disponibles
      */
-    private boolean hasMoreCaptures(Board board, Piece piece) {
-        return !getValidCapturesForPiece(board, piece).isEmpty();
-    }
-
-    /**
-     * Verifica y convierte una ficha en dama si llega al final
-     */
-    private void checkAndPromoteToKing(Board board, Piece piece) {
-        if (piece.isKing()) {
-            return;
-        }
-
-        // Fichas blancas se coronan en la fila 0
-        if (piece.getColor() == PieceColor.WHITE && piece.getRow() == 0) {
-            piece.setKing(true);
-        }
-
-        // Fichas negras se coronan en la fila 7
-        if (piece.getColor() == PieceColor.BLACK && piece.getRow() == 7) {
-            piece.setKing(true);
-        }
+    private boolean hasMoreCaptures(BitBoard bits, int square) {
+        return bits.captureTargets(square) != 0;
     }
 
     /**
      * Verifica si hay un ganador
      */
     private void checkWinCondition(Game game) {
-        Board board = game.getBoard();
-
+        BitBoard bits = game.getBoard().getBits();
         PieceColor currentColor = game.getCurrentTurn();
-        List<Piece> currentPieces = board.getPiecesByColor(currentColor);
 
-        // Si no quedan fichas, el otro jugador gana
-        if (currentPieces.isEmpty()) {
+        // Si no quedan fichas o no hay movimientos válidos (está bloqueado), el otro jugador gana.
+        // Los movimientos legales quedan calculados para validar el siguiente movimiento.
+        boolean noPieces = bits.pieces(currentColor) == 0;
+        boolean blocked = game.getLegalMoveCount() == 0;
+
+        if (noPieces || blocked) {
             game.setStatus(GameStatus.FINISHED);
             Player winner = (currentColor == PieceColor.WHITE) ?
                     game.getBlackPlayer() : game.getWhitePlayer();
             game.setWinner(winner);
-            return;
         }
+    }
 
-        // Si no hay movimientos válidos, el jugador pierde (está bloqueado)
-        boolean hasValidMoves = false;
-        for (Piece piece : currentPieces) {
-            if (!getValidMoves(board, piece).isEmpty()) {
-                hasValidMoves = true;
-                break;
-            }
+    /**
+     * Verifica tablas por triple repetición o por falta de progreso.
+     * Solo consulta el historial compacto de hashes, sin recorrer el tablero.
+     */
+    private void checkDrawCondition(Game game, boolean irreversible) {
+        int repetitions = game.recordPosition(irreversible);
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            return;
         }
 
-        if (!hasValidMoves) {
-            game.setStatus(GameStatus.FINISHED);
-            Player winner = (currentColor == PieceColor.WHITE) ?
-                    game.getBlackPlayer() : game.getWhitePlayer();
-            game.setWinner(winner);
+        if (repetitions >= REPETITION_LIMIT) {
+            log.info("Tablas por triple repetición");
+            game.setStatus(GameStatus.DRAW);
+            game.setDrawReason(DrawReason.REPETITION);
+        } else if (game.getPliesWithoutProgress() >= NO_PROGRESS_LIMIT) {
+            log.info("Tablas por {} turnos sin capturas ni avances de peones", NO_PROGRESS_LIMIT);
+            game.setStatus(GameStatus.DRAW);
+            game.setDrawReason(DrawReason.NO_PROGRESS);
         }
     }
 
@@ -371,6 +410,7 @@ public class GameService {
      */
     public boolean isGameOver(Game game) {
         return game.getStatus() == GameStatus.FINISHED ||
+                game.getStatus() == GameStatus.DRAW ||
                 game.getStatus() == GameStatus.ABANDONED;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.dto.ClockResponse;
+import com.sjo.checkers.dto.GameDeltaResponse;
+import com.sjo.checkers.dto.GameStateResponse;
+import com.sjo.checkers.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Construye, serializa y publica el estado de las partidas.
+ * El estado completo se serializa una sola vez por versión y se guarda en el {@link Game}:
+ * el mismo JSON sirve para el topic de la sala, las reconexiones, las peticiones de estado
+ * por STOMP y la API REST.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameStatePublisher {
+
+    private static final String TURN_WHITE_MESSAGE = "Turno de blancas";
+    private static final String TURN_BLACK_MESSAGE = "Turno de negras";
+    private static final String REPETITION_MESSAGE = "¡Tablas! La misma posición se ha repetido tres veces";
+    private static final String FINISHED_MESSAGE = "¡Juego terminado!";
+    private static final String FLAG_MESSAGE = "¡Tiempo agotado! Ganador: ";
+    private static final String NO_PROGRESS_MESSAGE = "¡Tablas! 40 movimientos sin capturas ni avances de peones";
+
+    private final GameService gameService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Envía el estado completo del juego a todos los jugadores de una sala
+     */
+    public void publishSnapshot(Room room) {
+        Game game = room.getGame();
+
+        log.info("=== ENVIANDO ESTADO DEL JUEGO ===");
+        log.info("Sala: {}", room.getId());
+        log.info("Jugador Blanco: {}", game.getWhitePlayer() != null ? game.getWhitePlayer().getNickname() : "null");
+        log.info("Jugador Negro: {}", game.getBlackPlayer() != null ? game.getBlackPlayer().getNickname() : "null");
+        log.info("Turno actual: {}", game.getCurrentTurn());
+        log.info("Estado: {}", game.getStatus());
+        log.info("Fichas blancas: {}, Fichas negras: {}",
+                game.getBoard().getPieceCount(PieceColor.WHITE), game.getBoard().getPieceCount(PieceColor.BLACK));
+
+        byte[] payload = snapshot(room);
+        game.setBroadcastVersion(game.getVersion());
+
+        log.info("Enviando estado a /topic/game/{}", room.getId());
+        messagingTemplate.convertAndSend("/topic/game/" + room.getId(), payload);
+        log.info("=== ESTADO ENVIADO ===");
+    }
+
+    /**
+     * Envía a la sala solo los saltos aplicados desde el último envío. Si algún jugador usa
+     * un cliente sin versión de protocolo, que no sabe aplicar cambios, envía el estado completo.
+     */
+    public void publishDelta(Room room) {
+        if (room.getProtocolVersion() < ProtocolVersion.COMPACT) {
+            publishSnapshot(room);
+            return;
+        }
+        Game game = room.getGame();
+        int fromVersion = game.getBroadcastVersion();
+
+        GameDeltaResponse response = new GameDeltaResponse(
+                room.getId(),
+                fromVersion,
+                game.getVersion(),
+                game.getMovesSince(fromVersion),
+                game.getCurrentTurn(),
+                game.getStatus(),
+                game.getWinner() != null ? game.getWinner().getNickname() : null,
+                statusMessage(game),
+                gameService.getLegalSquarePaths(game),
+                ClockResponse.from(game.getClock())
+        );
+        game.setBroadcastVersion(game.getVersion());
+
+        log.info("Enviando cambios {} -> {} a /topic/game/{}", fromVersion, game.getVersion(), room.getId());
+        messagingTemplate.convertAndSend("/topic/game/" + room.getId(), response);
+    }
+
+    /**
+     * Estado completo serializado a JSON; solo se vuelve a serializar si la partida ha cambiado
+     */
+    public byte[] snapshot(Room room) {
+        Game game = room.getGame();
+        Game.StateKey key = game.stateKey(room.getProtocolVersion());
+        byte[] payload = game.getCachedState(key);
+        if (payload == null) {
+            payload = jsonMapper.writeValueAsBytes(buildGameState(room, key.protocolVersion()));
+            game.cacheState(key, payload);
+        }
+        return payload;
+    }
+
+    private GameStateResponse buildGameState(Room room, int protocolVersion) {
+        Game game = room.getGame();
+        boolean compact = protocolVersion >= ProtocolVersion.COMPACT;
+        return new GameStateResponse(
+                room.getId(),
+                compact ? null : game.getBoard(),
+                game.getCurrentTurn(),
+                game.getStatus(),
+                game.getWhitePlayer() != null ? game.getWhitePlayer().getNickname() : null,
+                game.getBlackPlayer() != null ? game.getBlackPlayer().getNickname() : null,
+                game.getWinner() != null ? game.getWinner().getNickname() : null,
+                statusMessage(game),
+                gameService.getLegalPaths(game),
+                game.getVersion(),
+                protocolVersion,
+                compact ? BoardCodec.encode(game.getBoard().getBits(), game.getCurrentTurn()) : null,
+                ClockResponse.from(game.getClock())
+        );
+    }
+
+    /**
+     * Mensaje informativo según el estado de la partida
+     */
+    private String statusMessage(Game game) {
+        return switch (game.getStatus()) {
+            case IN_PROGRESS -> game.getCurrentTurn() == PieceColor.WHITE ? TURN_WHITE_MESSAGE : TURN_BLACK_MESSAGE;
+            case FINISHED -> game.getWinner() == null ? FINISHED_MESSAGE :
+                    (game.getClock() != null && game.getClock().getFlagged() != null ?
+                            FLAG_MESSAGE : FINISHED_MESSAGE + " Ganador: ") + game.getWinner().getNickname();
+            case DRAW -> game.getDrawReason() == DrawReason.REPETITION ? REPETITION_MESSAGE : NO_PROGRESS_MESSAGE;
+            default -> "";
+        };
+    }
+}
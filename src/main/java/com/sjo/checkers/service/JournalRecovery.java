@@ -0,0 +1,195 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.config.JournalConfig;
+import com.sjo.checkers.journal.JournalEvent;
+import com.sjo.checkers.journal.JournalReader;
+import com.sjo.checkers.journal.JournalWriter;
+import com.sjo.checkers.journal.RoomSnapshot;
+import com.sjo.checkers.journal.SnapshotStore;
+import com.sjo.checkers.model.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Reconstruye al arrancar las salas guardadas y las devuelve a RoomService: carga la última
+ * instantánea y aplica encima solo el diario escrito desde entonces, así que lo que tarda
+ * depende de los movimientos recientes y no de toda la historia.
+ * La cola del diario se agrupa por sala y cada sala se reconstruye en paralelo con las demás.
+ * Se ejecuta cuando ya están creados todos los beans pero antes de que el servidor web
+ * empiece a aceptar conexiones (y con él el endpoint STOMP), así que nadie ve las salas a
+ * medio reconstruir. Los saltos del diario se aplican de nuevo con las reglas del juego; los
+ * relojes quedan parados con el tiempo que quedaba hasta que vuelven los jugadores.
+ */
+@Service
+@ConditionalOnProperty(name = JournalConfig.ENABLED, matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class JournalRecovery implements SmartInitializingSingleton {
+
+    private final JournalWriter journalWriter;
+    private final RoomService roomService;
+    private final GameService gameService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        SnapshotStore.Snapshot snapshot;
+        Map<String, byte[]> snapshots = new HashMap<>();
+        Map<String, List<JournalEvent>> tail = new LinkedHashMap<>();
+        long records;
+        try {
+            snapshot = SnapshotStore.readLatest(journalWriter.getDirectory());
+            for (byte[] room : snapshot.rooms()) {
+                snapshots.put(RoomSnapshot.roomId(room), room);
+            }
+            // Solo los segmentos desde la instantánea; el actual es nuevo y aún está vacío
+            records = JournalReader.read(journalWriter.getDirectory(), snapshot.segment(), record -> {
+                try {
+                    JournalEvent event = JournalEvent.decode(record);
+                    tail.computeIfAbsent(event.roomId(), id -> new ArrayList<>()).add(event);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Registro del diario no válido, se ignora", e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el diario", e);
+        }
+
+        Set<String> roomIds = new LinkedHashSet<>(snapshots.keySet());
+        roomIds.addAll(tail.keySet());
+        List<Room> rooms = roomIds.parallelStream()
+                .map(id -> rebuild(id, snapshots.get(id), tail.getOrDefault(id, List.of())))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(Room::getSequence))
+                .toList();
+
+        for (Room room : rooms) {
+            prepare(room);
+            roomService.restoreRoom(room);
+        }
+        log.info("Recuperadas {} salas ({} de la instantánea del segmento {}, {} registros del diario) en {} ms",
+                rooms.size(), snapshots.size(), snapshot.segment(), records, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Una sala: la de la instantánea (si la hay) con sus eventos posteriores aplicados en
+     * orden; null si no existe o se borró
+     */
+    private Room rebuild(String roomId, byte[] snapshot, List<JournalEvent> events) {
+        Room room = null;
+        if (snapshot != null) {
+            try {
+                room = RoomSnapshot.decode(snapshot);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Sala {} no válida en la instantánea, se ignora", roomId, e);
+            }
+        }
+        for (JournalEvent event : events) {
+            room = apply(event, room);
+        }
+        return room;
+    }
+
+    /**
+     * Aplica un evento a su sala y devuelve cómo queda (null si no existe o se ha borrado).
+     * Los eventos que ya están en la instantánea no cambian nada.
+     */
+    Room apply(JournalEvent event, Room room) {
+        if (event instanceof JournalEvent.RoomCreated created) {
+            return room != null ? room : create(created);
+        }
+        if (room == null) {
+            return null; // Sala ya borrada
+        }
+        Game game = room.getGame();
+        switch (event) {
+            case JournalEvent.PlayerJoined joined -> {
+                Player seated = game.getPlayer(joined.color());
+                if (seated != null && seated.getId().equals(joined.playerId())) {
+                    break;
+                }
+                Player player = new Player(joined.nickname(), joined.bot() ? "bot-" + joined.playerId() : null);
+                player.setId(joined.playerId());
+                player.setBot(joined.bot());
+                player.setProtocolVersion(joined.protocolVersion());
+                player.setReconnectToken(joined.reconnectToken());
+                room.addPlayer(player);
+                if (player.getColor() != joined.color()) {
+                    log.warn("Sala {}: {} recuperado como {} en lugar de {}",
+                            room.getId(), player.getNickname(), player.getColor(), joined.color());
+                }
+            }
+            case JournalEvent.PlayerLeft left -> {
+                if (left.color() == PieceColor.WHITE) {
+                    game.setWhitePlayer(null);
+                } else {
+                    game.setBlackPlayer(null);
+                }
+            }
+            case JournalEvent.MovesPlayed played -> {
+                int[] moves = played.moves();
+                for (int i = Math.max(0, game.getVersion() - played.fromVersion()); i < moves.length; i++) {
+                    if (played.fromVersion() + i != game.getVersion() || !gameService.replayMove(game, moves[i])) {
+                        log.warn("Sala {}: el salto {} de la versión {} no se puede aplicar",
+                                room.getId(), PackedMove.toString(moves[i]), played.fromVersion() + i);
+                        break;
+                    }
+                }
+                if (game.getClock() != null && played.whiteMillis() >= 0) {
+                    game.getClock().restore(played.whiteMillis(), played.blackMillis());
+                }
+            }
+            case JournalEvent.StatusChanged changed -> {
+                game.setStatus(changed.status());
+                game.setWinner(changed.winner() != null ? game.getPlayer(changed.winner()) : null);
+                if (changed.flagged() != null && game.getClock() != null) {
+                    game.getClock().flag(changed.flagged());
+                }
+            }
+            case JournalEvent.RoomRemoved removed -> {
+                return null;
+            }
+            case JournalEvent.RoomCreated created -> throw new IllegalStateException();
+        }
+        return room;
+    }
+
+    private Room create(JournalEvent.RoomCreated created) {
+        Room room = new Room(created.name(), created.creatorId());
+        room.setId(created.roomId());
+        room.setVsComputer(created.vsComputer());
+        room.setSequence(created.sequence());
+        room.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(created.createdAt()), ZoneId.systemDefault()));
+        if (created.clockMillis() > 0) {
+            room.getGame().setClock(new GameClock(created.clockMillis(), created.incrementMillis()));
+        }
+        return room;
+    }
+
+    /**
+     * Deja la sala lista para volver a servirse: lo ya recuperado no se vuelve a guardar y
+     * los jugadores humanos esperan sesión nueva
+     */
+    private void prepare(Room room) {
+        Game game = room.getGame();
+        game.setJournalVersion(game.getVersion());
+        game.setJournalStatus(game.getStatus());
+        game.setBroadcastVersion(game.getVersion());
+        for (PieceColor color : PieceColor.values()) {
+            Player player = game.getPlayer(color);
+            if (player != null && !player.isBot()) {
+                player.setSessionId(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.dto.LobbyBatchResponse;
+import com.sjo.checkers.dto.LobbyEventResponse;
+import com.sjo.checkers.dto.RoomInfoResponse;
+import com.sjo.checkers.model.Room;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica en /topic/lobby los cambios del listado de salas abiertas. Los cambios se acumulan
+ * y se envían por lotes en cada intervalo, quedándose solo con el último de cada sala.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LobbyPublisher {
+
+    public static final String DESTINATION = "/topic/lobby";
+
+    private static final int MAX_BATCH_SIZE = 100; // Cambios por mensaje
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Último cambio pendiente de cada sala
+    private final Map<String, LobbyEventResponse> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Anota un cambio de una sala para el siguiente lote
+     */
+    public void roomChanged(LobbyEventResponse.Type type, Room room) {
+        pending.put(room.getId(), new LobbyEventResponse(type, RoomInfoResponse.from(room)));
+    }
+
+    /**
+     * Número del último lote enviado
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Envía los cambios acumulados desde el intervalo anterior
+     */
+    @Scheduled(fixedDelayString = "${checkers.lobby.tick-ms:250}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<LobbyEventResponse> events = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+        for (String roomId : pending.keySet()) {
+            LobbyEventResponse event = pending.remove(roomId);
+            if (event == null) {
+                continue;
+            }
+            events.add(event);
+            if (events.size() == MAX_BATCH_SIZE) {
+                send(events);
+                events = new ArrayList<>(MAX_BATCH_SIZE);
+            }
+        }
+        if (!events.isEmpty()) {
+            send(events);
+        }
+    }
+
+    private void send(List<LobbyEventResponse> events) {
+        long batch = sequence.incrementAndGet();
+        log.debug("Enviando lote {} del listado de salas con {} cambios", batch, events.size());
+        messagingTemplate.convertAndSend(DESTINATION, new LobbyBatchResponse(batch, events));
+    }
+}
@@ -0,0 +1,129 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.config.JournalConfig;
+import com.sjo.checkers.model.PdnWriter;
+import com.sjo.checkers.model.Room;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archivo PDN de las partidas terminadas ("finished.pdn" en el directorio del diario).
+ * Las salas terminadas se borran de memoria a los pocos minutos y el diario se poda con cada
+ * instantánea, así que es lo único que guarda las partidas para análisis y reclamaciones.
+ * Cada partida se copia en el buzón de su sala al terminar y un solo hilo la añade al final
+ * del fichero. La exportación lee solo hasta la última partida escrita entera.
+ */
+@Service
+@ConditionalOnProperty(name = JournalConfig.ENABLED, matchIfMissing = true)
+@Slf4j
+public class PdnArchive {
+
+    public static final String FILE_NAME = "finished.pdn";
+
+    private final RoomService roomService;
+    private final Path file;
+    private final FileChannel channel;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "checkers-pdn-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Bytes del fichero que contienen partidas completas
+    private volatile long committed;
+
+    public PdnArchive(RoomService roomService, @Value("${checkers.journal.dir:data/journal}") String directory) {
+        this.roomService = roomService;
+        this.file = Path.of(directory).resolve(FILE_NAME);
+        try {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.committed = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo de partidas " + file, e);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        roomService.onGameOver(this::archive);
+    }
+
+    /**
+     * Guarda una partida terminada. Se llama desde el buzón de la sala.
+     */
+    public void archive(Room room) {
+        PdnWriter.PdnGame game = PdnWriter.PdnGame.of(room);
+        try {
+            writer.execute(() -> append(game));
+        } catch (RejectedExecutionException e) {
+            log.warn("Partida {} sin archivar: la aplicación se está cerrando", game.event());
+        }
+    }
+
+    private void append(PdnWriter.PdnGame game) {
+        try {
+            StringWriter text = new StringWriter();
+            PdnWriter.write(game, text);
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            committed = channel.size();
+        } catch (IOException e) {
+            log.error("No se pudo archivar la partida {}", game.event(), e);
+        }
+    }
+
+    /**
+     * Copia en la salida todas las partidas archivadas hasta ahora
+     */
+    public void copyTo(OutputStream out) throws IOException {
+        long length = committed;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            while (position < length) {
+                long copied = in.transferTo(position, length - position, target);
+                if (copied <= 0) {
+                    break; // El fichero ha encogido por fuera
+                }
+                position += copied;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Termina de escribir las partidas pendientes y cierra el fichero
+     */
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Quedaron partidas sin archivar al cerrar");
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,71 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.model.Room;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta todo lo que modifica una sala (uniones, movimientos, desconexiones y jugadas de la
+ * computadora) a través de su {@link com.sjo.checkers.model.RoomMailbox}: cada sala tiene un
+ * único escritor y todas comparten el mismo pool de hilos.
+ */
+@Service
+@Slf4j
+public class RoomExecutor {
+
+    @Value("${checkers.rooms.threads:0}")
+    private int threads;
+
+    private ExecutorService pool;
+
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "checkers-room-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Buzones de sala servidos por {} hilos", size);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Ejecuta la tarea en el buzón de la sala, después de las que ya estaban encoladas
+     */
+    public void execute(Room room, Runnable task) {
+        room.getMailbox().post(task, pool);
+    }
+
+    /**
+     * Igual que execute, para leer algo de la sala sin competir con quien la modifica
+     */
+    public <T> CompletableFuture<T> submit(Room room, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(room, () -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e); // Quien espera el resultado no se queda bloqueado
+                if (e instanceof Error error) {
+                    throw error;
+                }
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.journal.JournalEvent;
+import com.sjo.checkers.journal.JournalWriter;
+import com.sjo.checkers.model.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+
+/**
+ * Guarda en el diario lo que pasa en las salas para poder reconstruirlas tras un reinicio
+ * (ver JournalRecovery). Los cambios de una partida se guardan desde el buzón de su sala,
+ * antes de publicarlos, así que en el diario quedan en el mismo orden en que se aplicaron.
+ */
+@Service
+@Slf4j
+public class RoomJournal {
+
+    private final JournalWriter writer; // null con el diario desactivado (ver JournalConfig)
+
+    public RoomJournal(ObjectProvider<JournalWriter> writer) {
+        this.writer = writer.getIfAvailable();
+    }
+
+    public void roomCreated(Room room) {
+        GameClock clock = room.getGame().getClock();
+        append(new JournalEvent.RoomCreated(
+                room.getId(),
+                room.getName(),
+                room.getCreatorId(),
+                room.isVsComputer(),
+                room.getSequence(),
+                room.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                clock != null ? clock.getInitialMillis() : 0,
+                clock != null ? clock.getIncrementMillis() : 0
+        ));
+    }
+
+    public void playerJoined(Room room, Player player) {
+        append(new JournalEvent.PlayerJoined(room.getId(), player.getColor(), player.getId(), player.getNickname(),
+                player.isBot(), player.getProtocolVersion(), player.isBot() ? null : player.getReconnectToken()));
+    }
+
+    public void playerLeft(Room room, PieceColor color) {
+        append(new JournalEvent.PlayerLeft(room.getId(), color));
+    }
+
+    public void roomRemoved(Room room) {
+        append(new JournalEvent.RoomRemoved(room.getId()));
+    }
+
+    /**
+     * Guarda los saltos aplicados y el cambio de estado desde la última vez. Se llama desde el
+     * buzón de la sala después de cada turno y de cada cambio de estado.
+     */
+    public void recordProgress(Room room) {
+        Game game = room.getGame();
+        int fromVersion = game.getJournalVersion();
+        if (game.getVersion() > fromVersion) {
+            GameClock clock = game.getClock();
+            append(new JournalEvent.MovesPlayed(room.getId(), fromVersion, game.getMovesSince(fromVersion),
+                    clock != null ? clock.getWhiteMillis() : -1,
+                    clock != null ? clock.getBlackMillis() : -1));
+            game.setJournalVersion(game.getVersion());
+        }
+        if (game.getStatus() != game.getJournalStatus()) {
+            GameClock clock = game.getClock();
+            append(new JournalEvent.StatusChanged(room.getId(), game.getStatus(),
+                    game.getWinner() != null ? game.getWinner().getColor() : null,
+                    clock != null ? clock.getFlagged() : null));
+            game.setJournalStatus(game.getStatus());
+        }
+    }
+
+    /**
+     * Al empezar el cierre de la aplicación, antes de que se cierren las sesiones WebSocket:
+     * las desconexiones del apagado no deben quedar en el diario como partidas abandonadas
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        if (writer == null) {
+            return;
+        }
+        log.info("Cerrando el diario de salas");
+        writer.close();
+    }
+
+    /**
+     * Con durabilidad PER_MOVE espera al fsync (compartido con los demás eventos del lote).
+     * Si falla el disco la partida sigue en memoria: se avisa y no se para el juego.
+     */
+    private void append(JournalEvent event) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.append(event.encode()).join();
+        } catch (RuntimeException e) {
+            log.error("No se pudo guardar en el diario el evento {} de la sala {}",
+                    event.getClass().getSimpleName(), event.roomId(), e);
+        }
+    }
+}
@@ -1,29 +1,141 @@
 package com.sjo.checkers.service;
 
-import com.sjo.checkers.model.Player;
-import com.sjo.checkers.model.Room;
+import com.sjo.checkers.dto.LobbyEventResponse;
+import com.sjo.checkers.model.*;
+import com.sjo.checkers.scheduler.TimerWheel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Servicio para gestionar las salas de juego
  */
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class RoomService {
 
+    // Margen sobre la caída de bandera antes de dar por caducada una partida con reloj
+    private static final long CLOCK_EXPIRY_MARGIN_MS = Duration.ofMinutes(1).toMillis();
+
+    private final LobbyPublisher lobbyPublisher;
+    private final RoomExecutor roomExecutor;
+    private final TimerWheel timerWheel;
+    private final RoomJournal roomJournal;
+
+    // Caducidad de las salas sin actividad, contada desde la creación o el último movimiento
+    @Value("${checkers.rooms.waiting-ttl-minutes:30}")
+    private long waitingTtlMinutes;
+
+    @Value("${checkers.rooms.idle-ttl-minutes:60}")
+    private long idleTtlMinutes;
+
+    // Caducidad de las partidas terminadas, tablas o abandonadas, contada desde que terminan
+    @Value("${checkers.rooms.finished-ttl-minutes:5}")
+    private long finishedTtlMinutes;
+
     private final Map<String, Room> rooms = new ConcurrentHashMap<>();
 
+    // Salas a las que alguien se puede unir, en orden de creación (clave: Room.sequence)
+    private final ConcurrentNavigableMap<Long, Room> openRooms = new ConcurrentSkipListMap<>();
+    private final AtomicLong roomSequence = new AtomicLong();
+
+    // Temporizador de caducidad vigente de cada sala
+    private final Map<String, Expiry> expiries = new ConcurrentHashMap<>();
+
+    // Asiento de cada sesión WebSocket: se mantiene al unirse, al dejar el asiento y al borrar salas
+    private final Map<String, Seat> seats = new ConcurrentHashMap<>();
+
+    // Servicios que guardan algo por sala (relojes, reflexión de la computadora...) y lo
+    // sueltan cuando termina su partida o se borra
+    private final List<Consumer<Room>> gameOverListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Room>> removalListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Sala y color en los que está sentada una sesión
+     */
+    public record Seat(String roomId, PieceColor color) {
+    }
+
+    /**
+     * Página del listado de salas abiertas; nextCursor es null en la última
+     */
+    public record RoomPage(List<Room> rooms, Long nextCursor) {
+    }
+
+    private static final class Expiry {
+        private final Room room;
+        private final boolean finished; // Programado al terminar la partida: al vencer se borra sin más
+        private TimerWheel.Timeout timeout;
+
+        private Expiry(Room room, boolean finished) {
+            this.room = room;
+            this.finished = finished;
+        }
+    }
+
     /**
      * Crea una nueva sala
      */
     public Room createRoom(String roomName, Player creator) {
-        Room room = new Room(roomName, creator.getId());
-        room.addPlayer(creator);
+        return createRoom(roomName, creator, false);
+    }
+
+    /**
+     * Crea una nueva sala, contra la computadora si vsComputer
+     */
+    public Room createRoom(String roomName, Player creator, boolean vsComputer) {
+        return createRoom(roomName, creator, vsComputer, null);
+    }
+
+    /**
+     * Crea una nueva sala con control de tiempo (clock null si no tiene reloj)
+     */
+    public Room createRoom(String roomName, Player creator, boolean vsComputer, GameClock clock) {
+        return createRoom(roomName, creator.getId(), creator, vsComputer, clock);
+    }
+
+    /**
+     * Crea una sala con los dos asientos libres: quien la crea (creatorId) se sienta después
+     * como cualquier otro jugador
+     */
+    public Room createRoom(String roomName, String creatorId, boolean vsComputer, GameClock clock) {
+        return createRoom(roomName, creatorId, null, vsComputer, clock);
+    }
+
+    private Room createRoom(String roomName, String creatorId, Player creator, boolean vsComputer, GameClock clock) {
+        Room room = new Room(roomName, creatorId);
+        room.setVsComputer(vsComputer);
+        room.setSequence(roomSequence.incrementAndGet());
+        room.getGame().setClock(clock);
+        if (creator != null) {
+            room.addPlayer(creator);
+        }
+        // Primero en rooms y después al diario: una instantánea que empiece entre medias la ve
+        // o encuentra su evento en el segmento nuevo (ver SnapshotService)
         rooms.put(room.getId(), room);
+        roomJournal.roomCreated(room);
+        if (creator != null) {
+            roomJournal.playerJoined(room, creator);
+            indexSeat(room, creator);
+        }
+        updateOpenIndex(room);
+        scheduleExpiry(room, Duration.ofMinutes(waitingTtlMinutes).toMillis(), false);
         return room;
     }
 
@@ -34,6 +146,13 @@ public class RoomService {
         return rooms.get(roomId);
     }
 
+    /**
+     * Todas las salas en memoria (vista de solo lectura; sus partidas se leen desde el buzón)
+     */
+    public Collection<Room> getRooms() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
     /**
      * Une un jugador a una sala
      */
@@ -42,34 +161,149 @@ public class RoomService {
         if (room == null || room.isFull()) {
             return false;
         }
-        return room.addPlayer(player);
+        if (!room.addPlayer(player)) {
+            return false;
+        }
+        roomJournal.playerJoined(room, player);
+        indexSeat(room, player);
+        updateOpenIndex(room);
+        return true;
+    }
+
+    /**
+     * Deja libre el asiento de un jugador
+     */
+    public void leaveSeat(Room room, Player player) {
+        if (room.getGame().getPlayer(player.getColor()) != player) {
+            return;
+        }
+        if (player.getColor() == PieceColor.WHITE) {
+            room.getGame().setWhitePlayer(null);
+        } else {
+            room.getGame().setBlackPlayer(null);
+        }
+        roomJournal.playerLeft(room, player.getColor());
+        seats.remove(player.getSessionId(), new Seat(room.getId(), player.getColor()));
+        updateOpenIndex(room);
+    }
+
+    /**
+     * Asiento de una sesión, o null si no está sentada en ninguna sala
+     */
+    public Seat getSeat(String sessionId) {
+        return sessionId != null ? seats.get(sessionId) : null;
+    }
+
+    /**
+     * Quita una sesión del índice (desconexión) y devuelve el asiento que ocupaba
+     */
+    public Seat releaseSession(String sessionId) {
+        return sessionId != null ? seats.remove(sessionId) : null;
     }
 
     /**
-     * Obtiene todas las salas disponibles (no llenas)
+     * Salas abiertas (no llenas y sin asiento reservado para la computadora) creadas después
+     * del cursor, en orden de creación. Filtros opcionales: texto en el nombre y solo salas
+     * con un jugador esperando.
      */
-    public List<Room> getAvailableRooms() {
-        List<Room> availableRooms = new ArrayList<>();
-        for (Room room : rooms.values()) {
-            if (!room.isFull()) {
-                availableRooms.add(room);
+    public RoomPage getOpenRooms(Long after, int limit, String nameFilter, boolean waitingOnly) {
+        String name = nameFilter != null && !nameFilter.isBlank() ? nameFilter.toLowerCase() : null;
+        Map<Long, Room> candidates = after != null ? openRooms.tailMap(after, false) : openRooms;
+
+        List<Room> page = new ArrayList<>(Math.min(limit, 64));
+        for (Room room : candidates.values()) {
+            if ((name != null && !room.getName().toLowerCase().contains(name))
+                    || (waitingOnly && room.getPlayerCount() == 0)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                // Hay al menos una más: la siguiente página empieza después de la última devuelta
+                return new RoomPage(page, page.getLast().getSequence());
             }
+            page.add(room);
         }
-        return availableRooms;
+        return new RoomPage(page, null);
     }
 
     /**
      * Elimina una sala
      */
     public void removeRoom(String roomId) {
-        rooms.remove(roomId);
+        Room room = rooms.remove(roomId);
+        if (room != null) {
+            roomJournal.roomRemoved(room);
+            if (openRooms.remove(room.getSequence()) != null) {
+                lobbyPublisher.roomChanged(LobbyEventResponse.Type.REMOVED, room);
+            }
+            unindexSeats(room);
+            Expiry expiry = expiries.remove(roomId);
+            if (expiry != null) {
+                expiry.timeout.cancel();
+            }
+            removalListeners.forEach(listener -> listener.accept(room));
+        }
+    }
+
+    /**
+     * Registra un aviso que se ejecuta al borrar cada sala, en el hilo que la borra
+     */
+    public void onRoomRemoved(Consumer<Room> listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * Hay que llamarlo cuando cambia el estado de la partida: al terminar, la sala pasa a
+     * caducar finished-ttl-minutes después. Se llama desde el buzón de la sala.
+     */
+    public void refreshExpiry(Room room) {
+        Expiry expiry = expiries.get(room.getId());
+        if (isOver(room.getGame()) && expiry != null && !expiry.finished) {
+            gameOver(room);
+        }
     }
 
     /**
-     * Elimina salas vacías (limpieza)
+     * Registra un aviso que se ejecuta una vez al terminar cada partida (movimiento final,
+     * bandera, tablas o abandono), en el buzón de su sala
      */
-    public void removeEmptyRooms() {
-        rooms.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+    public void onGameOver(Consumer<Room> listener) {
+        gameOverListeners.add(listener);
+    }
+
+    /**
+     * Vuelve a poner en memoria una sala reconstruida desde el diario al arrancar. Sus
+     * jugadores humanos no tienen sesión hasta que vuelven a entrar (ver reclaimSeat) y la
+     * caducidad empieza a contar de nuevo.
+     */
+    public void restoreRoom(Room room) {
+        roomSequence.accumulateAndGet(room.getSequence(), Math::max);
+        rooms.put(room.getId(), room);
+        updateOpenIndex(room);
+        Game game = room.getGame();
+        long ttlMinutes = isOver(game) ? finishedTtlMinutes :
+                game.getStatus() == GameStatus.WAITING ? waitingTtlMinutes : idleTtlMinutes;
+        scheduleExpiry(room, Duration.ofMinutes(ttlMinutes).toMillis(), isOver(game));
+    }
+
+    /**
+     * Da a una sesión nueva el asiento sin sesión (recuperado del diario) del jugador con ese
+     * token de reconexión. El apodo no basta: cualquiera podría usarlo para quedarse con el
+     * asiento. Devuelve el jugador, o null si no hay ninguno. Se llama desde el buzón de la sala.
+     */
+    public Player reclaimSeat(Room room, String reconnectToken, String sessionId) {
+        if (reconnectToken == null) {
+            return null;
+        }
+        for (PieceColor color : PieceColor.values()) {
+            Player player = room.getGame().getPlayer(color);
+            if (player != null && !player.isBot() && player.getSessionId() == null
+                    && reconnectToken.equals(player.getReconnectToken())) {
+                player.setSessionId(sessionId);
+                indexSeat(room, player);
+                return player;
+            }
+        }
+        return null;
     }
 
     /**
@@ -83,21 +317,101 @@ public class RoomService {
      * Obtiene el jugador de una sala por su session ID
      */
     public Player getPlayerBySessionId(String roomId, String sessionId) {
+        Seat seat = getSeat(sessionId);
+        if (seat == null || !seat.roomId().equals(roomId)) {
+            return null;
+        }
         Room room = rooms.get(roomId);
         if (room == null) {
             return null;
         }
 
-        Player whitePlayer = room.getGame().getWhitePlayer();
-        Player blackPlayer = room.getGame().getBlackPlayer();
+        Player player = room.getGame().getPlayer(seat.color());
+        return player != null && sessionId.equals(player.getSessionId()) ? player : null;
+    }
 
-        if (whitePlayer != null && whitePlayer.getSessionId().equals(sessionId)) {
-            return whitePlayer;
+    /**
+     * Mete o saca la sala del listado de salas abiertas y avisa del cambio al lobby
+     */
+    private void updateOpenIndex(Room room) {
+        if (!rooms.containsKey(room.getId()) || room.isFull() || room.isVsComputer()) {
+            if (openRooms.remove(room.getSequence()) != null) {
+                lobbyPublisher.roomChanged(room.isFull() ? LobbyEventResponse.Type.FILLED : LobbyEventResponse.Type.REMOVED, room);
+            }
+        } else {
+            boolean added = openRooms.put(room.getSequence(), room) == null;
+            lobbyPublisher.roomChanged(added ? LobbyEventResponse.Type.ADDED : LobbyEventResponse.Type.UPDATED, room);
         }
-        if (blackPlayer != null && blackPlayer.getSessionId().equals(sessionId)) {
-            return blackPlayer;
+    }
+
+    /**
+     * Programa la caducidad de la sala en la rueda de temporizadores, sustituyendo la anterior.
+     * Al vencer no se borra directamente: se comprueba en el buzón de la sala si ha habido
+     * actividad desde entonces y, si la hay, se vuelve a programar.
+     */
+    private void scheduleExpiry(Room room, long delayMillis, boolean finished) {
+        Expiry expiry = new Expiry(room, finished);
+        expiry.timeout = timerWheel.schedule(() -> roomExecutor.execute(room, () -> expire(expiry)), delayMillis);
+        Expiry previous = expiries.put(room.getId(), expiry);
+        if (previous != null) {
+            previous.timeout.cancel();
         }
+    }
 
-        return null;
+    private void expire(Expiry expiry) {
+        Room room = expiry.room;
+        if (expiries.get(room.getId()) != expiry) {
+            return; // Sustituido por otro temporizador mientras esperaba en el buzón
+        }
+        Game game = room.getGame();
+        if (!expiry.finished && isOver(game)) {
+            // Terminó sin pasar por refreshExpiry: se le da el plazo normal de partida terminada
+            gameOver(room);
+            return;
+        }
+        if (!expiry.finished) {
+            long ttlMinutes = game.getStatus() == GameStatus.WAITING ? waitingTtlMinutes : idleTtlMinutes;
+            LocalDateTime lastActivity = game.getLastMoveAt() != null && game.getLastMoveAt().isAfter(room.getCreatedAt()) ?
+                    game.getLastMoveAt() : room.getCreatedAt();
+            long remaining = Duration.between(LocalDateTime.now(), lastActivity.plusMinutes(ttlMinutes)).toMillis();
+            GameClock clock = game.getClock();
+            if (game.getStatus() == GameStatus.IN_PROGRESS && clock != null && clock.isRunning()) {
+                // Con el reloj en marcha, pensar más que idle-ttl-minutes es legal: la sala dura
+                // al menos hasta la caída de bandera del jugador con el turno
+                PieceColor side = game.getCurrentTurn();
+                remaining = Math.max(remaining,
+                        clock.remaining(side, side, System.currentTimeMillis()) + CLOCK_EXPIRY_MARGIN_MS);
+            }
+            if (remaining > 0) {
+                scheduleExpiry(room, remaining, false);
+                return;
+            }
+        }
+        log.info("Sala {} caducada ({})", room.getId(), game.getStatus());
+        removeRoom(room.getId());
+    }
+
+    private void gameOver(Room room) {
+        scheduleExpiry(room, Duration.ofMinutes(finishedTtlMinutes).toMillis(), true);
+        gameOverListeners.forEach(listener -> listener.accept(room));
+    }
+
+    private boolean isOver(Game game) {
+        return game.getStatus() != GameStatus.WAITING && game.getStatus() != GameStatus.IN_PROGRESS;
+    }
+
+    private void indexSeat(Room room, Player player) {
+        if (player.getSessionId() != null && !player.isBot()) {
+            seats.put(player.getSessionId(), new Seat(room.getId(), player.getColor()));
+        }
+    }
+
+    private void unindexSeats(Room room) {
+        for (PieceColor color : PieceColor.values()) {
+            Player player = room.getGame().getPlayer(color);
+            if (player != null && player.getSessionId() != null) {
+                seats.remove(player.getSessionId(), new Seat(room.getId(), color));
+            }
+        }
     }
-}
\ No newline at end of file
+}
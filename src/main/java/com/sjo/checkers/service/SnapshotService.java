@@ -0,0 +1,69 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.config.JournalConfig;
+import com.sjo.checkers.journal.JournalWriter;
+import com.sjo.checkers.journal.RoomSnapshot;
+import com.sjo.checkers.journal.SnapshotStore;
+import com.sjo.checkers.model.Room;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Instantáneas periódicas de todas las salas, para que al arrancar solo haya que leer el
+ * diario escrito desde la última (ver JournalRecovery) y no toda la historia.
+ * Primero se cambia de segmento del diario y después se codifica cada sala en su buzón, así
+ * que todo lo que hay en los segmentos anteriores ya está en la instantánea y se puede borrar.
+ * Lo que se escribe en el segmento nuevo mientras se toma la instantánea puede estar en los
+ * dos sitios: al reconstruir, los eventos ya incluidos no cambian nada.
+ */
+@Service
+@ConditionalOnProperty(name = JournalConfig.ENABLED, matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotService {
+
+    private final JournalWriter journalWriter;
+    private final RoomService roomService;
+    private final RoomExecutor roomExecutor;
+
+    private long appendedAtLastSnapshot = -1;
+
+    @Scheduled(fixedDelayString = "${checkers.journal.snapshot-interval-ms:300000}",
+            initialDelayString = "${checkers.journal.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        long appended = journalWriter.getAppended();
+        if (appended == appendedAtLastSnapshot) {
+            return; // Nada nuevo en el diario desde la anterior
+        }
+        long start = System.nanoTime();
+        try {
+            long segment = journalWriter.rotate();
+
+            // Cada sala se codifica en su buzón; los buzones trabajan en paralelo
+            List<CompletableFuture<byte[]>> pending = new ArrayList<>();
+            for (Room room : roomService.getRooms()) {
+                pending.add(roomExecutor.submit(room, () -> RoomSnapshot.encode(room)));
+            }
+            List<byte[]> rooms = new ArrayList<>(pending.size());
+            for (CompletableFuture<byte[]> future : pending) {
+                rooms.add(future.join());
+            }
+
+            SnapshotStore.write(journalWriter.getDirectory(), segment, rooms);
+            SnapshotStore.prune(journalWriter.getDirectory(), segment);
+            appendedAtLastSnapshot = appended;
+            log.info("Instantánea de {} salas hasta el segmento {} en {} ms",
+                    rooms.size(), segment, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo hacer la instantánea de las salas", e);
+        }
+    }
+}
@@ -6,6 +6,7 @@
     const BOARD_SIZE = 8;
     const CELL_SIZE = 80;
     const PIECE_RADIUS = 30;
+    const PROTOCOL_VERSION = 2; // Tablero codificado en el campo fen (ver BoardCodec)
 
     let canvas;
     let ctx;
@@ -15,6 +16,10 @@
     let myColor = null;
     let playerId = null;
     let gameStompClient = null;
+    let currentRoomId = null;
+    let pendingPath = null;   // Casillas del movimiento en curso (captura múltiple a medias o ya enviado)
+    let savedGrid = null;     // Tablero recibido del servidor mientras se elige la captura múltiple
+    let clockTimer = null;    // Intervalo que redibuja el reloj del jugador con el turno
 
     /**
      * Inicializa el juego
@@ -75,6 +80,7 @@
      */
     function connectToGame(roomId, nickname) {
         console.log('=== CONECTANDO WEBSOCKET ===');
+        currentRoomId = roomId;
 
         const socket = new SockJS('/ws-checkers');
         gameStompClient = Stomp.over(socket);
@@ -93,8 +99,8 @@
             // Suscribirse a actualizaciones del juego
             gameStompClient.subscribe('/topic/game/' + roomId, function(message) {
                 console.log('📨 Mensaje en /topic/game/');
-                const newGameState = JSON.parse(message.body);
-                console.log('Estado del juego recibido');
+                const update = JSON.parse(message.body);
+                console.log('Estado del juego recibido:', update.type, update.version);
 
                 // Ocultar overlay
                 const overlay = document.getElementById('waitingOverlay');
@@ -102,23 +108,36 @@
                     overlay.style.display = 'none';
                 }
 
-                onGameStateUpdate(newGameState);
+                if (update.type === 'DELTA') {
+                    onGameDelta(update);
+                } else {
+                    onGameStateUpdate(update);
+                }
             });
 
             // Suscribirse a errores
             gameStompClient.subscribe('/user/queue/errors', function(message) {
                 const error = JSON.parse(message.body);
                 console.error('❌ Error:', error);
+                cancelPendingPath();
                 alert('Error: ' + error.message);
             });
 
+            // Asiento conseguido: el token permite recuperarlo si el servidor se reinicia
+            gameStompClient.subscribe('/user/queue/seat', function(message) {
+                const seat = JSON.parse(message.body);
+                sessionStorage.setItem('reconnectToken:' + seat.roomId, seat.reconnectToken);
+            });
+
             console.log('✅ Suscripciones completadas');
 
             // Unirse a la sala
             console.log('📤 Enviando solicitud de unión con nickname:', nickname);
             gameStompClient.send('/app/room/join', {}, JSON.stringify({
                 roomId: roomId,
-                playerNickname: nickname
+                playerNickname: nickname,
+                protocolVersion: PROTOCOL_VERSION,
+                reconnectToken: sessionStorage.getItem('reconnectToken:' + roomId)
             }));
 
         }, function(error) {
@@ -169,7 +188,14 @@
         console.log('=== ACTUALIZANDO ESTADO ===');
         console.log('Estado completo:', newGameState);
 
+        // Versión COMPACT del protocolo: el tablero llega codificado
+        if (newGameState.fen) {
+            newGameState.board = { grid: decodeFen(newGameState.fen) };
+        }
+
         gameState = newGameState;
+        pendingPath = null;
+        savedGrid = null;
 
         // Actualizar información de jugadores
         if (gameState.whitePlayerNickname) {
@@ -232,9 +258,13 @@
             console.error('❌ Board.grid no existe');
         }
 
+        updateClocks();
+
         // Verificar si terminó
         if (gameState.status === 'FINISHED') {
             showWinModal(gameState.winnerNickname);
+        } else if (gameState.status === 'DRAW') {
+            showDrawModal(gameState.message);
         } else if (gameState.status === 'ABANDONED') {
             alert('Partida abandonada');
             window.location.href = '/';
@@ -245,6 +275,140 @@
         console.log('=== FIN ACTUALIZACIÓN ===');
     }
 
+    /**
+     * Muestra los relojes de una partida con control de tiempo. El del jugador con el turno
+     * corre desde turnStartedAt (hora del servidor).
+     */
+    function updateClocks() {
+        const clock = gameState.clock;
+        if (clockTimer) {
+            clearInterval(clockTimer);
+            clockTimer = null;
+        }
+        if (!clock) {
+            return;
+        }
+
+        const render = () => {
+            ['WHITE', 'BLACK'].forEach(color => {
+                const element = document.getElementById(color === 'WHITE' ? 'whiteClock' : 'blackClock');
+                const running = clock.turnStartedAt > 0 && gameState.currentTurn === color;
+                let millis = color === 'WHITE' ? clock.whiteMillis : clock.blackMillis;
+                if (running) {
+                    millis -= Date.now() - clock.turnStartedAt;
+                }
+                millis = Math.max(0, millis);
+                const seconds = Math.ceil(millis / 1000);
+                element.textContent = `${Math.floor(seconds / 60)}:${String(seconds % 60).padStart(2, '0')}`;
+                element.style.display = '';
+                element.classList.toggle('running', running);
+                element.classList.toggle('low', millis < 10000);
+            });
+        };
+        render();
+        if (clock.turnStartedAt > 0) {
+            clockTimer = setInterval(render, 200);
+        }
+    }
+
+    /**
+     * Aplica los cambios de un movimiento sobre el último estado completo.
+     * Si falta alguna versión intermedia se pide el estado completo al servidor.
+     */
+    function onGameDelta(delta) {
+        if (gameState && (delta.version < gameState.version ||
+                (delta.version === gameState.version && delta.status === gameState.status))) {
+            return; // Ya aplicado (con la misma versión solo puede cambiar el estado, p. ej. tiempo agotado)
+        }
+        if (!gameState || delta.fromVersion !== gameState.version) {
+            console.warn('Falta la versión', gameState ? gameState.version : null, '-> pidiendo estado completo');
+            requestGameState();
+            return;
+        }
+
+        // Si hay una captura múltiple a medias se parte del tablero recibido del servidor
+        const grid = (savedGrid || gameState.board.grid).map(gridRow => gridRow.slice());
+        delta.moves.forEach(move => applyPackedMove(grid, move));
+
+        onGameStateUpdate({
+            ...gameState,
+            board: { ...gameState.board, grid: grid },
+            version: delta.version,
+            currentTurn: delta.currentTurn,
+            status: delta.status,
+            winnerNickname: delta.winnerNickname,
+            message: delta.message,
+            legalMoves: delta.legalMoves.map(path => path.map(squareToPosition)),
+            clock: delta.clock
+        });
+    }
+
+    /**
+     * Pide el estado completo; la respuesta llega solo a esta sesión
+     */
+    function requestGameState() {
+        const subscription = gameStompClient.subscribe('/app/game/' + currentRoomId + '/state', function(message) {
+            subscription.unsubscribe();
+            onGameStateUpdate(JSON.parse(message.body));
+        });
+    }
+
+    /**
+     * Decodifica un tablero "W:W21,22,K30:B1,2,3" (casillas de 1 a 32, K para damas,
+     * se admiten rangos "1-12") en la cuadrícula 8x8 de fichas
+     */
+    function decodeFen(fen) {
+        const grid = [];
+        for (let row = 0; row < BOARD_SIZE; row++) {
+            grid.push(new Array(BOARD_SIZE).fill(null));
+        }
+
+        fen.split(':').slice(1).forEach(section => {
+            const color = section.charAt(0) === 'W' ? 'WHITE' : 'BLACK';
+            const list = section.substring(1);
+            if (!list) {
+                return;
+            }
+            list.split(',').forEach(token => {
+                const king = token.charAt(0) === 'K';
+                const range = (king ? token.substring(1) : token).split('-');
+                const first = parseInt(range[0], 10);
+                const last = range.length > 1 ? parseInt(range[1], 10) : first;
+                for (let square = first; square <= last; square++) {
+                    const position = squareToPosition(square - 1);
+                    grid[position.row][position.col] = { row: position.row, col: position.col, color: color, king: king };
+                }
+            });
+        });
+
+        return grid;
+    }
+
+    /**
+     * Casilla numerada de 0 a 31 (fila * 4 + columna / 2) a fila y columna
+     */
+    function squareToPosition(square) {
+        const row = square >> 2;
+        return { row: row, col: ((square & 3) << 1) | ((row & 1) ^ 1) };
+    }
+
+    /**
+     * Aplica un salto codificado (origen bits 0-4, destino 5-9, capturada 10-14,
+     * bit 15 captura, bit 16 coronación)
+     */
+    function applyPackedMove(grid, move) {
+        const from = squareToPosition(move & 31);
+        const to = squareToPosition((move >> 5) & 31);
+        const piece = grid[from.row][from.col];
+
+        grid[from.row][from.col] = null;
+        if (move & (1 << 15)) {
+            const captured = squareToPosition((move >> 10) & 31);
+            grid[captured.row][captured.col] = null;
+        }
+        grid[to.row][to.col] = { ...piece, row: to.row, col: to.col, king: piece.king || (move & (1 << 16)) !== 0 };
+    }
+
     /**
      * Actualiza fichas capturadas
      */
@@ -396,6 +560,14 @@
             return;
         }
 
+        // En mitad de una captura múltiple solo se puede elegir el siguiente salto
+        if (pendingPath) {
+            if (isValidMoveTarget(row, col)) {
+                makeMove(row, col);
+            }
+            return;
+        }
+
         const clickedPiece = gameState.board.grid[row][col];
 
         // Si hay pieza seleccionada y click en movimiento válido
@@ -421,136 +593,47 @@
     function selectPiece(row, col, piece) {
         console.log('Ficha seleccionada:', piece);
         selectedPiece = { row, col, piece };
-        validMoves = calculateValidMoves(piece);
+        validMoves = nextSteps([{ row, col }]);
         console.log('Movimientos válidos:', validMoves.length);
         drawBoard();
     }
 
     /**
-     * Calcula movimientos válidos para una ficha
+     * Siguientes pasos posibles tras las casillas ya elegidas, a partir de los movimientos
+     * legales que calcula el servidor (gameState.legalMoves: origen y casillas de aterrizaje)
      */
-    function calculateValidMoves(piece) {
-        const moves = [];
-        const directions = piece.king ?
-            [{dr: -1, dc: -1}, {dr: -1, dc: 1}, {dr: 1, dc: -1}, {dr: 1, dc: 1}] :
-            piece.color === 'WHITE' ?
-                [{dr: -1, dc: -1}, {dr: -1, dc: 1}] :
-                [{dr: 1, dc: -1}, {dr: 1, dc: 1}];
-
-        // Primero, buscar capturas para ESTA ficha
-        const capturesThisPiece = [];
-        for (const dir of directions) {
-            const jumpRow = piece.row + 2 * dir.dr;
-            const jumpCol = piece.col + 2 * dir.dc;
-            const middleRow = piece.row + dir.dr;
-            const middleCol = piece.col + dir.dc;
-
-            if (jumpRow >= 0 && jumpRow < BOARD_SIZE &&
-                jumpCol >= 0 && jumpCol < BOARD_SIZE) {
-
-                const middlePiece = gameState.board.grid[middleRow][middleCol];
-                const targetPiece = gameState.board.grid[jumpRow][jumpCol];
-
-                if (middlePiece && middlePiece.color !== piece.color && !targetPiece) {
-                    capturesThisPiece.push({
-                        fromRow: piece.row,
-                        fromCol: piece.col,
-                        toRow: jumpRow,
-                        toCol: jumpCol,
-                        capture: true,
-                        capturedPosition: { row: middleRow, col: middleCol }
-                    });
-                }
-            }
-        }
-
-        // Verificar si HAY CAPTURAS DISPONIBLES para CUALQUIER ficha de mi color
-        const allCaptures = getAllAvailableCaptures(piece.color);
-
-        // Si HAY capturas disponibles (de esta u otra ficha)
-        if (allCaptures.length > 0) {
-            // Solo devolver capturas de ESTA ficha
-            return capturesThisPiece;
-        }
+    function nextSteps(prefix) {
+        const steps = [];
+        const paths = gameState.legalMoves || [];
 
-        // Si no hay capturas obligatorias, permitir movimientos simples
-        for (const dir of directions) {
-            const newRow = piece.row + dir.dr;
-            const newCol = piece.col + dir.dc;
-
-            if (newRow >= 0 && newRow < BOARD_SIZE &&
-                newCol >= 0 && newCol < BOARD_SIZE) {
-
-                const targetPiece = gameState.board.grid[newRow][newCol];
-
-                if (!targetPiece) {
-                    moves.push({
-                        fromRow: piece.row,
-                        fromCol: piece.col,
-                        toRow: newRow,
-                        toCol: newCol,
-                        capture: false,
-                        capturedPosition: null
-                    });
+        paths.forEach(path => {
+            if (path.length <= prefix.length) {
+                return;
+            }
+            for (let i = 0; i < prefix.length; i++) {
+                if (path[i].row !== prefix[i].row || path[i].col !== prefix[i].col) {
+                    return;
                 }
             }
-        }
-
-        return moves;
-    }
-
-    /**
-     * Obtiene todas las capturas disponibles para un color
-     */
-    function getAllAvailableCaptures(color) {
-        const allCaptures = [];
-
-        if (!gameState || !gameState.board || !gameState.board.grid) {
-            return allCaptures;
-        }
-
-        // Recorrer todas las fichas del color especificado
-        for (let row = 0; row < BOARD_SIZE; row++) {
-            for (let col = 0; col < BOARD_SIZE; col++) {
-                const piece = gameState.board.grid[row][col];
 
-                if (piece && piece.color === color) {
-                    // Verificar capturas posibles para esta ficha
-                    const directions = piece.king ?
-                        [{dr: -1, dc: -1}, {dr: -1, dc: 1}, {dr: 1, dc: -1}, {dr: 1, dc: 1}] :
-                        piece.color === 'WHITE' ?
-                            [{dr: -1, dc: -1}, {dr: -1, dc: 1}] :
-                            [{dr: 1, dc: -1}, {dr: 1, dc: 1}];
-
-                    for (const dir of directions) {
-                        const jumpRow = piece.row + 2 * dir.dr;
-                        const jumpCol = piece.col + 2 * dir.dc;
-                        const middleRow = piece.row + dir.dr;
-                        const middleCol = piece.col + dir.dc;
-
-                        if (jumpRow >= 0 && jumpRow < BOARD_SIZE &&
-                            jumpCol >= 0 && jumpCol < BOARD_SIZE) {
-
-                            const middlePiece = gameState.board.grid[middleRow][middleCol];
-                            const targetPiece = gameState.board.grid[jumpRow][jumpCol];
-
-                            if (middlePiece && middlePiece.color !== piece.color && !targetPiece) {
-                                allCaptures.push({
-                                    fromRow: piece.row,
-                                    fromCol: piece.col,
-                                    toRow: jumpRow,
-                                    toCol: jumpCol,
-                                    capture: true,
-                                    capturedPosition: { row: middleRow, col: middleCol }
-                                });
-                            }
-                        }
-                    }
-                }
+            const from = path[prefix.length - 1];
+            const to = path[prefix.length];
+            if (steps.some(step => step.toRow === to.row && step.toCol === to.col)) {
+                return;
             }
-        }
 
-        return allCaptures;
+            const capture = Math.abs(to.row - from.row) === 2;
+            steps.push({
+                fromRow: from.row,
+                fromCol: from.col,
+                toRow: to.row,
+                toCol: to.col,
+                capture: capture,
+                capturedPosition: capture ? { row: (from.row + to.row) / 2, col: (from.col + to.col) / 2 } : null
+            });
+        });
+
+        return steps;
     }
 
     /**
@@ -571,25 +654,78 @@
             return;
         }
 
-        console.log('=== ENVIANDO MOVIMIENTO ===');
-        console.log('Movimiento completo:', move);
-        console.log('De:', move.fromRow, move.fromCol);
-        console.log('A:', move.toRow, move.toCol);
-        console.log('Es captura:', move.capture);
-        console.log('Posición capturada:', move.capturedPosition);
+        const path = (pendingPath || [{ row: move.fromRow, col: move.fromCol }])
+            .concat([{ row: move.toRow, col: move.toCol }]);
+
+        // Captura múltiple: se aplica el salto en local y se espera al siguiente.
+        // El movimiento completo se envía en un único mensaje.
+        if (move.capture) {
+            if (!savedGrid) {
+                savedGrid = gameState.board.grid;
+                gameState.board.grid = savedGrid.map(gridRow => gridRow.slice());
+            }
+            const moved = applyLocalCapture(move);
+            const next = nextSteps(path);
+            if (next.length > 0) {
+                pendingPath = path;
+                selectedPiece = { row: move.toRow, col: move.toCol, piece: moved };
+                validMoves = next;
+                drawBoard();
+                return;
+            }
+        }
+
+        console.log('=== ENVIANDO MOVIMIENTO ===', path);
+        sendPath(path);
+
+        // Hasta recibir el nuevo estado no se aceptan más clics
+        pendingPath = path;
+        selectedPiece = null;
+        validMoves = [];
+        drawBoard();
+    }
 
+    /**
+     * Aplica un salto en la copia local del tablero y devuelve la ficha en su nueva casilla
+     */
+    function applyLocalCapture(move) {
+        const grid = gameState.board.grid;
+        const piece = grid[move.fromRow][move.fromCol];
+        const lastRow = piece.color === 'WHITE' ? 0 : BOARD_SIZE - 1;
+        const moved = { ...piece, row: move.toRow, col: move.toCol, king: piece.king || move.toRow === lastRow };
+
+        grid[move.fromRow][move.fromCol] = null;
+        grid[move.capturedPosition.row][move.capturedPosition.col] = null;
+        grid[move.toRow][move.toCol] = moved;
+        return moved;
+    }
+
+    /**
+     * Envía un movimiento completo (origen y casillas de aterrizaje)
+     */
+    function sendPath(path) {
         const moveRequest = {
             roomId: gameState.roomId,
             playerId: playerId,
-            move: move
+            path: path
         };
 
-        console.log('Request completo:', JSON.stringify(moveRequest, null, 2));
-
+        console.log('Request completo:', JSON.stringify(moveRequest));
         gameStompClient.send('/app/game/move', {}, JSON.stringify(moveRequest));
+    }
 
+    /**
+     * Descarta la captura múltiple local y vuelve al tablero del servidor
+     */
+    function cancelPendingPath() {
+        if (savedGrid) {
+            gameState.board.grid = savedGrid;
+        }
+        pendingPath = null;
+        savedGrid = null;
         selectedPiece = null;
         validMoves = [];
+        drawBoard();
     }
 
     /**
@@ -610,4 +746,13 @@
 
         modal.style.display = 'block';
     }
+
+    /**
+     * Modal de tablas
+     */
+    function showDrawModal(drawMessage) {
+        document.getElementById('winTitle').textContent = '🤝 Tablas';
+        document.getElementById('winMessage').textContent = drawMessage;
+        document.getElementById('winModal').style.display = 'block';
+    }
 })();
\ No newline at end of file
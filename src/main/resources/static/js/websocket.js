@@ -38,9 +38,12 @@ function disconnectWebSocket() {
 
 /**
  * Crea una nueva sala - Usa HTTP REST
+ * timeControl: "segundos:incremento" (vacío para jugar sin reloj)
  */
-async function createRoom(roomName, nickname) {
+async function createRoom(roomName, nickname, vsComputer, timeControl) {
     try {
+        const [clockSeconds, incrementSeconds] = timeControl ? timeControl.split(':').map(Number) : [0, 0];
+
         const response = await fetch('/api/rooms/create', {
             method: 'POST',
             headers: {
@@ -48,7 +51,10 @@ async function createRoom(roomName, nickname) {
             },
             body: JSON.stringify({
                 roomName: roomName,
-                playerNickname: nickname
+                playerNickname: nickname,
+                vsComputer: !!vsComputer,
+                clockSeconds: clockSeconds,
+                incrementSeconds: incrementSeconds
             })
         });
 
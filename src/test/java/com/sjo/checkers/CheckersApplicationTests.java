@@ -1,11 +1,25 @@
 package com.sjo.checkers;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class CheckersApplicationTests {
 
+	// Diario vacío en cada ejecución: sin salas de ejecuciones anteriores ni ficheros en el repositorio
+	@TempDir
+	static Path journalDir;
+
+	@DynamicPropertySource
+	static void journal(DynamicPropertyRegistry registry) {
+		registry.add("checkers.journal.dir", () -> journalDir.toString());
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,38 @@
+package com.sjo.checkers;
+
+import com.sjo.checkers.journal.JournalWriter;
+import com.sjo.checkers.model.Player;
+import com.sjo.checkers.model.Room;
+import com.sjo.checkers.service.JournalRecovery;
+import com.sjo.checkers.service.PdnArchive;
+import com.sjo.checkers.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"checkers.journal.enabled=false", "checkers.journal.dir=target/journal-disabled"})
+class JournalDisabledTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private RoomService roomService;
+
+	@Test
+	void roomsWorkWithoutTheJournal() {
+		assertNull(context.getBeanProvider(JournalWriter.class).getIfAvailable());
+		assertNull(context.getBeanProvider(JournalRecovery.class).getIfAvailable());
+		assertNull(context.getBeanProvider(PdnArchive.class).getIfAvailable());
+
+		Room room = roomService.createRoom("sala", new Player("ana", "s1"));
+		assertSame(room, roomService.getRoom(room.getId()));
+		assertFalse(Files.exists(Path.of("target/journal-disabled")));
+	}
+}
@@ -0,0 +1,116 @@
+package com.sjo.checkers.engine;
+
+import com.sjo.checkers.model.BitBoard;
+import com.sjo.checkers.model.Board;
+import com.sjo.checkers.model.PackedMove;
+import com.sjo.checkers.model.PieceColor;
+import com.sjo.checkers.service.GameService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+class PerftTest {
+
+	// Damas inglesas desde la posición inicial, profundidades 1 a 9
+	private static final long[] INITIAL_COUNTS = {7, 49, 302, 1469, 7361, 36768, 179740, 845931, 3963680};
+
+	private final GameService rules = new GameService();
+
+	@Test
+	void initialPositionMatchesKnownCounts() {
+		Perft perft = new Perft();
+		BitBoard initial = new Board().getBits();
+
+		for (int depth = 1; depth <= INITIAL_COUNTS.length; depth++) {
+			long start = System.nanoTime();
+			long leaves = perft.count(initial, PieceColor.WHITE, -1, depth);
+			long nanos = System.nanoTime() - start;
+			assertEquals(INITIAL_COUNTS[depth - 1], leaves, "perft(" + depth + ")");
+			log.info("perft({}) = {} en {} ms ({} nodos/s)", depth, leaves, nanos / 1_000_000,
+					nanos > 0 ? leaves * 1_000_000_000L / nanos : 0);
+		}
+	}
+
+	@Test
+	void rulesAgreeWithGeneratorFromInitialPosition() {
+		BitBoard initial = new Board().getBits();
+		for (int depth = 1; depth <= 6; depth++) {
+			assertEquals(INITIAL_COUNTS[depth - 1],
+					Perft.countWithRules(rules, initial, PieceColor.WHITE, -1, depth), "perft(" + depth + ")");
+		}
+	}
+
+	@Test
+	void divideAddsUpToPerft() {
+		Perft perft = new Perft();
+		BitBoard initial = BitBoard.initial();
+		Map<String, Long> divide = perft.divide(initial, PieceColor.WHITE, -1, 5);
+
+		assertEquals(7, divide.size());
+		assertEquals(INITIAL_COUNTS[4], divide.values().stream().mapToLong(Long::longValue).sum());
+	}
+
+	@Test
+	void multiJumpCountsAsOneMove() {
+		// Peón blanco en 21 que captura 17 y 10 en el mismo turno
+		BitBoard board = new BitBoard();
+		board.put(BitBoard.square(5, 0), PieceColor.WHITE, false);
+		board.put(BitBoard.square(4, 1), PieceColor.BLACK, false);
+		board.put(BitBoard.square(2, 3), PieceColor.BLACK, false);
+		board.put(BitBoard.square(0, 7), PieceColor.BLACK, false);
+
+		Perft perft = new Perft();
+		assertEquals(1, perft.count(board, PieceColor.WHITE, -1, 1));
+		assertEquals(Perft.countWithRules(rules, board, PieceColor.WHITE, -1, 3), perft.count(board, PieceColor.WHITE, -1, 3));
+	}
+
+	@Test
+	void promotionEndsTheMove() {
+		// El peón blanco corona al capturar y no puede seguir capturando como dama
+		BitBoard board = new BitBoard();
+		board.put(BitBoard.square(2, 1), PieceColor.WHITE, false);
+		board.put(BitBoard.square(1, 2), PieceColor.BLACK, false);
+		board.put(BitBoard.square(1, 4), PieceColor.BLACK, false);
+
+		Perft perft = new Perft();
+		assertEquals(1, perft.count(board, PieceColor.WHITE, -1, 1));
+		assertEquals(2, perft.count(board, PieceColor.WHITE, -1, 2)); // Solo queda el peón negro de 1,4
+	}
+
+	@Test
+	void rulesAgreeWithGeneratorAlongRandomGames() {
+		Perft perft = new Perft();
+		Random random = new Random(20240601L);
+		int[] buffer = new int[PackedMove.MAX_MOVES];
+
+		for (int game = 0; game < 10; game++) {
+			BitBoard board = BitBoard.initial();
+			PieceColor side = PieceColor.WHITE;
+			int capturingSquare = -1;
+
+			for (int ply = 0; ply < 80; ply++) {
+				assertEquals(Perft.countWithRules(rules, board, side, capturingSquare, 3),
+						perft.count(board, side, capturingSquare, 3), board.toString());
+
+				int count = board.generateMoves(side, capturingSquare, buffer);
+				if (count == 0) {
+					break;
+				}
+				int move = buffer[random.nextInt(count)];
+				board.apply(move);
+				if (PackedMove.isCapture(move) && !PackedMove.isPromotion(move)
+						&& board.captureTargets(PackedMove.to(move)) != 0) {
+					capturingSquare = PackedMove.to(move);
+				} else {
+					capturingSquare = -1;
+					side = side == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+				}
+			}
+		}
+	}
+}
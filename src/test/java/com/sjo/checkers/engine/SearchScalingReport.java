@@ -0,0 +1,49 @@
+package com.sjo.checkers.engine;
+
+import com.sjo.checkers.model.BitBoard;
+import com.sjo.checkers.model.PieceColor;
+
+/**
+ * Informe de escalado de la búsqueda en paralelo: nodos por segundo con 1, 2, 4 y 8 hilos
+ * desde una posición de medio juego. Se ejecuta a mano:
+ * java -cp target/classes:target/test-classes com.sjo.checkers.engine.SearchScalingReport [segundos]
+ */
+public class SearchScalingReport {
+
+    // Medio juego sin damas (casillas numeradas 1-32 como en PDN)
+    private static final BitBoard POSITION = new BitBoard(
+            mask(19, 21, 22, 23, 25, 26, 28, 30, 31, 32),
+            mask(1, 2, 3, 5, 6, 7, 9, 11, 14),
+            0);
+
+    public static void main(String[] args) {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 3;
+        System.out.printf("Procesadores disponibles: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %14s %14s %10s%n", "hilos", "nodos", "nodos/s", "escalado");
+
+        double base = 0;
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ParallelSearch search = new ParallelSearch(new TranspositionTable(64), threads);
+            search.search(POSITION, PieceColor.WHITE, -1, new SearchLimits(64, 0, 500)); // calentamiento
+            search.getTable().clear();
+
+            long start = System.nanoTime();
+            SearchResult result = search.search(POSITION, PieceColor.WHITE, -1, new SearchLimits(64, 0, seconds * 1000));
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            double nps = result.getNodes() / elapsed;
+            if (threads == 1) {
+                base = nps;
+            }
+            System.out.printf("%-8d %14d %14.0f %9.2fx%n", threads, result.getNodes(), nps, nps / base);
+            search.shutdown();
+        }
+    }
+
+    private static int mask(int... squares) {
+        int mask = 0;
+        for (int square : squares) {
+            mask |= 1 << (square - 1);
+        }
+        return mask;
+    }
+}
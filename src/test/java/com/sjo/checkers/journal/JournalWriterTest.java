@@ -0,0 +1,148 @@
+package com.sjo.checkers.journal;
+
+import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.PackedMove;
+import com.sjo.checkers.model.PieceColor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalWriterTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void eventsRoundTripInOrder() throws IOException {
+		List<JournalEvent> events = List.of(
+				new JournalEvent.RoomCreated("ABC123", "sala", "creador", true, 7, 1_000L, 300_000, 5_000),
+				new JournalEvent.PlayerJoined("ABC123", PieceColor.WHITE, "p1", "ana", false, 2, "token"),
+				new JournalEvent.PlayerJoined("ABC123", PieceColor.BLACK, "p2", null, true, 1, null),
+				new JournalEvent.MovesPlayed("ABC123", 0, new int[]{PackedMove.simple(21, 17, false)}, 299_000, 300_000),
+				new JournalEvent.StatusChanged("ABC123", GameStatus.FINISHED, PieceColor.BLACK, PieceColor.WHITE),
+				new JournalEvent.PlayerLeft("ABC123", PieceColor.WHITE),
+				new JournalEvent.RoomRemoved("ABC123"));
+
+		try (JournalWriter writer = new JournalWriter(directory, Durability.PER_MOVE, 5, 1024)) {
+			for (JournalEvent event : events) {
+				// PER_MOVE: vuelve cuando el registro ya está en disco
+				writer.append(event.encode()).join();
+			}
+		}
+
+		List<JournalEvent> read = new ArrayList<>();
+		JournalReader.read(directory, 0, record -> {
+			try {
+				read.add(JournalEvent.decode(record));
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		});
+
+		assertEquals(events.size(), read.size());
+		for (int i = 0; i < events.size(); i++) {
+			assertEquals(events.get(i).getClass(), read.get(i).getClass());
+			assertArrayEquals(events.get(i).encode(), read.get(i).encode());
+		}
+	}
+
+	@Test
+	void playerJoinedFromBeforeTheTokenHasNone() throws IOException {
+		byte[] record = new JournalEvent.PlayerJoined("ABC123", PieceColor.WHITE, "p1", "ana", false, 2, null).encode();
+		// Sin el último campo (un byte: texto ausente) queda como se escribía antes
+		byte[] old = Arrays.copyOf(record, record.length - 1);
+
+		JournalEvent.PlayerJoined joined = (JournalEvent.PlayerJoined) JournalEvent.decode(old);
+		assertEquals("ana", joined.nickname());
+		assertEquals(2, joined.protocolVersion());
+		assertNull(joined.reconnectToken());
+	}
+
+	@Test
+	void rotatesSegmentsAndStartsANewOneOnEachOpen() throws IOException {
+		try (JournalWriter writer = new JournalWriter(directory, Durability.BATCHED, 1, 64)) {
+			for (int i = 0; i < 20; i++) {
+				writer.append(new JournalEvent.RoomRemoved("R" + i).encode());
+			}
+		}
+		int segments = JournalReader.segments(directory).size();
+		assertTrue(segments > 1, "segmentos: " + segments);
+
+		try (JournalWriter writer = new JournalWriter(directory, Durability.NONE, 1, 64)) {
+			assertEquals(segments + 1, writer.currentSegment());
+			writer.append(new JournalEvent.RoomRemoved("R20").encode());
+		}
+		assertEquals(21, JournalReader.read(directory, 0, record -> {
+		}));
+		assertEquals(1, JournalReader.read(directory, segments + 1, record -> {
+		}));
+	}
+
+	@Test
+	void ignoresTornRecordAtTheEndOfASegment() throws IOException {
+		try (JournalWriter writer = new JournalWriter(directory, Durability.BATCHED, 1, 1 << 20)) {
+			writer.append(new JournalEvent.RoomRemoved("A").encode());
+			writer.append(new JournalEvent.RoomRemoved("B").encode());
+		}
+		Path segment = JournalReader.segments(directory).getLast();
+		// Registro cortado a medias por una caída: cabecera de 40 bytes y solo 3 escritos
+		Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 9, 9, 9}, StandardOpenOption.APPEND);
+
+		List<String> rooms = new ArrayList<>();
+		long count = JournalReader.read(directory, 0, record -> {
+			try {
+				rooms.add(JournalEvent.decode(record).roomId());
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		});
+
+		assertEquals(2, count);
+		assertEquals(List.of("A", "B"), rooms);
+	}
+
+	@Test
+	void failedWriteFailsItsBatchAndDoesNotLeakIntoTheNext() throws IOException {
+		try (JournalWriter writer = new JournalWriter(directory, Durability.PER_MOVE, 1, 1 << 20)) {
+			writer.append(new JournalEvent.RoomRemoved("A").encode()).join();
+
+			// El canal cerrado hace fallar la escritura del lote siguiente
+			((FileChannel) ReflectionTestUtils.getField(writer, "channel")).close();
+			CompletionException failed = assertThrows(CompletionException.class,
+					() -> writer.append(new JournalEvent.RoomRemoved("B").encode()).orTimeout(5, TimeUnit.SECONDS).join());
+			assertInstanceOf(IOException.class, failed.getCause());
+			ByteBuffer buffer = (ByteBuffer) ReflectionTestUtils.getField(writer, "buffer");
+			assertEquals(0, buffer.position());
+			assertEquals(buffer.capacity(), buffer.limit());
+
+			// Con el canal de vuelta solo se escribe lo nuevo
+			Path segment = JournalReader.segments(directory).getLast();
+			ReflectionTestUtils.setField(writer, "channel", FileChannel.open(segment, StandardOpenOption.APPEND));
+			writer.append(new JournalEvent.RoomRemoved("una sala con nombre largo").encode()).orTimeout(5, TimeUnit.SECONDS).join();
+		}
+
+		List<String> rooms = new ArrayList<>();
+		JournalReader.read(directory, 0, record -> {
+			try {
+				rooms.add(JournalEvent.decode(record).roomId());
+			} catch (IOException e) {
+				throw new AssertionError(e);
+			}
+		});
+		assertEquals(List.of("A", "una sala con nombre largo"), rooms);
+	}
+}
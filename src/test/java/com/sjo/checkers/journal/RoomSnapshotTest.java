@@ -0,0 +1,62 @@
+package com.sjo.checkers.journal;
+
+import com.sjo.checkers.model.*;
+import com.sjo.checkers.service.GameService;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomSnapshotTest {
+
+	private final GameService gameService = new GameService();
+
+	@Test
+	void restoresRoomWithoutReplayingMoves() throws IOException {
+		Room room = new Room("sala", "creador");
+		room.setSequence(42);
+		room.getGame().setClock(new GameClock(300_000, 5_000));
+		Player ana = new Player("ana", "s1");
+		room.addPlayer(ana);
+		Player bot = new Player("Computadora", "bot-1");
+		bot.setBot(true);
+		room.addPlayer(bot);
+
+		Game game = room.getGame();
+		assertTrue(gameService.replayMove(game, PackedMove.simple(21, 17, false)));  // 22-18
+		assertTrue(gameService.replayMove(game, PackedMove.simple(9, 13, false)));   // 10-14
+		game.getClock().restore(298_000, 301_000);
+
+		Room restored = RoomSnapshot.decode(RoomSnapshot.encode(room));
+		Game copy = restored.getGame();
+
+		assertEquals(room.getId(), RoomSnapshot.roomId(RoomSnapshot.encode(room)));
+		assertEquals(room.getId(), restored.getId());
+		assertEquals(42, restored.getSequence());
+		assertEquals(game.getBoard().getBits(), copy.getBoard().getBits());
+		assertEquals(game.getCurrentTurn(), copy.getCurrentTurn());
+		assertEquals(GameStatus.IN_PROGRESS, copy.getStatus());
+		assertEquals(2, copy.getVersion());
+		assertArrayEquals(game.getMovesSince(0), copy.getMovesSince(0));
+		assertArrayEquals(game.getRecordedPositions(), copy.getRecordedPositions());
+		assertEquals(298_000, copy.getClock().getWhiteMillis());
+		assertEquals(5_000, copy.getClock().getIncrementMillis());
+		assertFalse(copy.getClock().isRunning());
+
+		assertEquals("ana", copy.getWhitePlayer().getNickname());
+		assertNull(copy.getWhitePlayer().getSessionId());
+		assertEquals(ana.getReconnectToken(), copy.getWhitePlayer().getReconnectToken());
+		assertNull(copy.getBlackPlayer().getReconnectToken());
+		assertTrue(copy.getBlackPlayer().isBot());
+		assertEquals(PieceColor.BLACK, copy.getBlackPlayer().getColor());
+
+		// La partida sigue desde donde estaba
+		assertEquals(game.getLegalMoveCount(), copy.getLegalMoveCount());
+		int next = game.getLegalMove(0);
+		assertTrue(gameService.replayMove(game, next));
+		assertTrue(gameService.replayMove(copy, next));
+		assertEquals(game.getBoard().getBits(), copy.getBoard().getBits());
+		assertEquals(3, copy.getVersion());
+	}
+}
@@ -0,0 +1,69 @@
+package com.sjo.checkers.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+	@Test
+	void incrementalHashMatchesHashFromScratch() {
+		SplittableRandom random = new SplittableRandom(7);
+		int[] buffer = new int[PackedMove.MAX_MOVES];
+		int promotions = 0;
+
+		// Partidas aleatorias completas: cada salto, captura y coronación pasa por apply
+		for (int playout = 0; playout < 200; playout++) {
+			BitBoard bits = BitBoard.initial();
+			PieceColor color = PieceColor.WHITE;
+			int capturingSquare = -1;
+			for (int ply = 0; ply < 200; ply++) {
+				int count = bits.generateMoves(color, capturingSquare, buffer);
+				if (count == 0) {
+					break;
+				}
+				int move = buffer[random.nextInt(count)];
+				bits.apply(move);
+				assertEquals(fromScratch(bits), bits.getHash(), PackedMove.toString(move));
+				if (PackedMove.isPromotion(move)) {
+					promotions++;
+				}
+
+				int to = PackedMove.to(move);
+				if (PackedMove.isCapture(move) && !PackedMove.isPromotion(move) && bits.captureTargets(to) != 0) {
+					capturingSquare = to;
+				} else {
+					capturingSquare = -1;
+					color = color == PieceColor.WHITE ? PieceColor.BLACK : PieceColor.WHITE;
+				}
+			}
+		}
+		assertTrue(promotions > 0);
+	}
+
+	@Test
+	void putClearAndPromoteKeepTheHashInStep() {
+		BitBoard bits = new BitBoard();
+		bits.put(BitBoard.square(1, 2), PieceColor.WHITE, false);
+		bits.put(BitBoard.square(0, 3), PieceColor.BLACK, true);
+		assertEquals(fromScratch(bits), bits.getHash());
+
+		bits.move(BitBoard.square(1, 2), BitBoard.square(0, 1));
+		assertTrue(bits.promoteIfLastRow(BitBoard.square(0, 1)));
+		assertEquals(fromScratch(bits), bits.getHash());
+
+		bits.put(BitBoard.square(0, 3), PieceColor.WHITE, false);
+		bits.clear(BitBoard.square(0, 1));
+		assertEquals(fromScratch(bits), bits.getHash());
+
+		// El turno cambia el hash de la posición pero no el de las fichas
+		assertNotEquals(bits.hash(PieceColor.WHITE), bits.hash(PieceColor.BLACK));
+		assertEquals(bits.getHash(), bits.hash(PieceColor.WHITE));
+	}
+
+	private static long fromScratch(BitBoard bits) {
+		return new BitBoard(bits.getWhite(), bits.getBlack(), bits.getKings()).getHash();
+	}
+}
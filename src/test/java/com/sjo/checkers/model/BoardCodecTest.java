@@ -0,0 +1,62 @@
+package com.sjo.checkers.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardCodecTest {
+
+	@Test
+	void encodesInitialPosition() {
+		assertEquals("W:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12",
+				BoardCodec.encode(BitBoard.initial(), PieceColor.WHITE));
+	}
+
+	@Test
+	void roundTripKeepsPiecesKingsAndTurn() {
+		BitBoard bits = new BitBoard();
+		bits.put(BitBoard.square(3, 2), PieceColor.WHITE, true);
+		bits.put(BitBoard.square(6, 1), PieceColor.WHITE, false);
+		bits.put(BitBoard.square(1, 4), PieceColor.BLACK, true);
+		bits.put(BitBoard.square(2, 7), PieceColor.BLACK, false);
+
+		String fen = BoardCodec.encode(bits, PieceColor.BLACK);
+		Board board = BoardCodec.decode(fen);
+
+		assertEquals(bits, board.getBits());
+		assertEquals(bits.getHash(), board.getBits().getHash());
+		assertEquals(PieceColor.BLACK, BoardCodec.decodeTurn(fen));
+		assertTrue(board.getPiece(3, 2).isKing());
+	}
+
+	@Test
+	void acceptsRangesAndEmptySides() {
+		assertEquals(BitBoard.initial(), BoardCodec.decode("W:W21-32:B1-12").getBits());
+		assertEquals(0, BoardCodec.decode("B:W:BK5").getBits().pieces(PieceColor.WHITE));
+	}
+
+	@Test
+	void rejectsInvalidSquares() {
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:W33:B1"));
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:Wx:B1"));
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:X1:B2"));
+	}
+
+	@Test
+	void rejectsPositionsThatCannotArise() {
+		// Casilla repetida, en el mismo color o en los dos
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:W21,21:B1"));
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:W21-24:B12,K22"));
+		// Más de 12 fichas de un color
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:W13-25:B1"));
+		assertEquals(12, BoardCodec.decode("W:WK1-12:B13").getBits().kingCount(PieceColor.WHITE));
+		// Peones en su fila de coronación; las damas sí pueden estar ahí
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:W3:B12"));
+		assertThrows(IllegalArgumentException.class, () -> BoardCodec.decode("W:W21:B30"));
+		BitBoard kings = BoardCodec.decode("W:WK3:BK30").getBits();
+		assertEquals(1, kings.kingCount(PieceColor.WHITE));
+		assertEquals(1, kings.kingCount(PieceColor.BLACK));
+	}
+}
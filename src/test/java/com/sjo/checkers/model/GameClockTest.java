@@ -0,0 +1,52 @@
+package com.sjo.checkers.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+	@Test
+	void onlySideToMoveRunsAndFischerIncrementIsAdded() {
+		GameClock clock = new GameClock(60_000, 2_000);
+		clock.start(1_000);
+
+		assertEquals(55_000, clock.remaining(PieceColor.WHITE, PieceColor.WHITE, 6_000));
+		assertEquals(60_000, clock.remaining(PieceColor.BLACK, PieceColor.WHITE, 6_000));
+
+		clock.punch(PieceColor.WHITE, 6_000);
+		assertEquals(57_000, clock.getWhiteMillis());
+		assertEquals(6_000, clock.getTurnStartedAt());
+		assertEquals(50_000, clock.remaining(PieceColor.BLACK, PieceColor.BLACK, 16_000));
+		assertEquals(57_000, clock.remaining(PieceColor.WHITE, PieceColor.BLACK, 16_000));
+	}
+
+	@Test
+	void moveAfterTheFlagGetsNoIncrementAndStopFreezesTime() {
+		GameClock clock = new GameClock(10_000, 5_000);
+		clock.start(1_000);
+		clock.punch(PieceColor.WHITE, 13_000);
+		assertEquals(0, clock.getWhiteMillis());
+
+		clock.stop(PieceColor.BLACK, 16_000);
+		assertFalse(clock.isRunning());
+		assertEquals(7_000, clock.remaining(PieceColor.BLACK, PieceColor.BLACK, 99_000));
+
+		clock.flag(PieceColor.BLACK);
+		assertEquals(PieceColor.BLACK, clock.getFlagged());
+		assertEquals(0, clock.getBlackMillis());
+	}
+
+	@Test
+	void gameSwitchTurnPunchesTheClock() {
+		Game game = new Game();
+		game.setClock(new GameClock(60_000, 0));
+		game.getClock().start(System.currentTimeMillis() - 3_000);
+
+		game.switchTurn();
+
+		assertEquals(PieceColor.BLACK, game.getCurrentTurn());
+		assertTrue(game.getClock().getWhiteMillis() <= 57_000);
+		assertEquals(60_000, game.getClock().getBlackMillis());
+	}
+}
@@ -0,0 +1,83 @@
+package com.sjo.checkers.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTest {
+
+	@Test
+	void legalMovesFollowBoardChangesMadeOutsideTheGame() {
+		Game game = new Game();
+		assertEquals(7, game.getLegalMoveCount());
+
+		// Tablero cambiado con los setters de Board, sin invalidar desde la partida
+		Piece[][] grid = new Piece[8][8];
+		grid[5][2] = new Piece(5, 2, PieceColor.WHITE, false);
+		grid[4][3] = new Piece(4, 3, PieceColor.BLACK, false);
+		game.getBoard().setGrid(grid);
+		assertEquals(1, game.getLegalMoveCount());
+		assertTrue(PackedMove.isCapture(game.getLegalMove(0)));
+
+		game.getBoard().removePiece(4, 3);
+		assertEquals(2, game.getLegalMoveCount());
+
+		game.getBoard().setPiece(4, 1, new Piece(4, 1, PieceColor.BLACK, false));
+		assertEquals(expected(game), game.getLegalMoveCount());
+
+		// Setters de la partida
+		game.setCurrentTurn(PieceColor.BLACK);
+		assertEquals(expected(game), game.getLegalMoveCount());
+		assertEquals(PieceColor.BLACK, game.getBoard().getBits().colorAt(PackedMove.from(game.getLegalMove(0))));
+
+		game.setBoard(new Board());
+		game.setCurrentTurn(PieceColor.WHITE);
+		assertEquals(7, game.getLegalMoveCount());
+	}
+
+	@Test
+	void cachedStateIsDroppedWhenTheClockStartsOrStops() {
+		Game game = new Game();
+		game.setClock(new GameClock(60_000, 0));
+		byte[] bytes = {1};
+		game.cacheState(game.stateKey(ProtocolVersion.COMPACT), bytes);
+		assertSame(bytes, game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+		assertNull(game.getCachedState(game.stateKey(ProtocolVersion.GRID)));
+
+		// Misma versión, distinto reloj
+		game.getClock().start(1_000);
+		assertNull(game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+		game.cacheState(game.stateKey(ProtocolVersion.COMPACT), bytes);
+		game.getClock().stop(PieceColor.WHITE, 4_000);
+		assertNull(game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+	}
+
+	@Test
+	void cachedStateFollowsNicknamesNotSessions() {
+		Game game = new Game();
+		Player ana = new Player("ana", "s1");
+		game.setWhitePlayer(ana);
+		byte[] bytes = {1};
+		game.cacheState(game.stateKey(ProtocolVersion.COMPACT), bytes);
+
+		// Reconexión: cambia la sesión, pero lo que se envía es lo mismo
+		ana.setSessionId("s2");
+		assertSame(bytes, game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+
+		// El mismo objeto Player cambiado en el sitio sí cambia la clave
+		ana.setNickname("anita");
+		assertNull(game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+		game.cacheState(game.stateKey(ProtocolVersion.COMPACT), bytes);
+
+		game.setBlackPlayer(new Player("luis", "s3"));
+		assertNull(game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+		game.cacheState(game.stateKey(ProtocolVersion.COMPACT), bytes);
+		game.setWinner(ana);
+		assertNull(game.getCachedState(game.stateKey(ProtocolVersion.COMPACT)));
+	}
+
+	private static int expected(Game game) {
+		return game.getBoard().getBits().generateMoves(game.getCurrentTurn(), game.getCapturingSquare(),
+				new int[PackedMove.MAX_MOVES]);
+	}
+}
@@ -0,0 +1,73 @@
+package com.sjo.checkers.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdnWriterTest {
+
+	@Test
+	void writesTagsAndNumberedMoves() throws IOException {
+		int[] moves = {
+				PackedMove.simple(21, 17, false),       // 22-18
+				PackedMove.simple(10, 14, false),       // 11-15
+				PackedMove.capture(17, 10, 14, false)   // 18x11
+		};
+
+		String pdn = write(new PdnWriter.PdnGame("Sala \"1\"", LocalDate.of(2026, 10, 18), "ana", null, "*", "300+5", moves));
+
+		assertEquals("""
+				[Event "Sala \\"1\\""]
+				[Date "2026.10.18"]
+				[White "ana"]
+				[Black "?"]
+				[Result "*"]
+				[GameType "21"]
+				[FEN "W:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12"]
+				[TimeControl "300+5"]
+
+				1. 22-18 11-15 2. 18x11 *
+
+				""", pdn);
+	}
+
+	@Test
+	void groupsCaptureChainsIntoOneMove() throws IOException {
+		int[] moves = {
+				PackedMove.simple(21, 17, false),
+				PackedMove.capture(8, 17, 13, false),   // 9x18
+				PackedMove.capture(17, 26, 21, false),  // x27
+				PackedMove.capture(30, 23, 26, false)   // 31x24, jugada de las blancas
+		};
+
+		String pdn = write(new PdnWriter.PdnGame("s", null, "a", "b", "0-1", null, moves));
+
+		assertTrue(pdn.endsWith("1. 22-18 9x18x27 2. 31x24 0-1\n\n"), pdn);
+	}
+
+	@Test
+	void wrapsLongMoveText() throws IOException {
+		int[] moves = new int[200];
+		for (int i = 0; i < moves.length; i++) {
+			moves[i] = i % 2 == 0 ? PackedMove.simple(28, 24, false) : PackedMove.simple(3, 7, false);
+		}
+
+		String pdn = write(new PdnWriter.PdnGame("s", null, "a", "b", "1/2-1/2", null, moves));
+
+		for (String line : pdn.split("\n")) {
+			assertTrue(line.length() <= 80, line);
+		}
+		assertTrue(pdn.contains("100. 29-25 4-8 1/2-1/2"), pdn);
+	}
+
+	private static String write(PdnWriter.PdnGame game) throws IOException {
+		StringWriter out = new StringWriter();
+		PdnWriter.write(game, out);
+		return out.toString();
+	}
+}
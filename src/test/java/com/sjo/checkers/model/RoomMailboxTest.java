@@ -0,0 +1,123 @@
+package com.sjo.checkers.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomMailboxTest {
+
+	private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void shutdown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	void runsTasksOneAtATimeInArrivalOrderPerProducer() throws InterruptedException {
+		RoomMailbox mailbox = new RoomMailbox();
+		int producers = 4;
+		int tasksPerProducer = 2_000;
+		List<List<Integer>> seen = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			seen.add(new ArrayList<>());
+		}
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(producers * tasksPerProducer);
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			threads.add(Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < tasksPerProducer; i++) {
+					int index = i;
+					mailbox.post(() -> {
+						if (running.incrementAndGet() != 1) {
+							overlaps.incrementAndGet();
+						}
+						seen.get(producer).add(index); // Sin sincronizar: solo un hilo a la vez
+						running.decrementAndGet();
+						done.countDown();
+					}, pool);
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+
+		assertEquals(0, overlaps.get());
+		for (List<Integer> order : seen) {
+			assertEquals(tasksPerProducer, order.size());
+			for (int i = 0; i < tasksPerProducer; i++) {
+				assertEquals(i, order.get(i));
+			}
+		}
+	}
+
+	@Test
+	void keepsDrainingAfterAFailingTask() throws InterruptedException {
+		RoomMailbox mailbox = new RoomMailbox();
+		CountDownLatch done = new CountDownLatch(2);
+
+		mailbox.post(() -> {
+			throw new IllegalStateException("fallo de prueba");
+		}, pool);
+		mailbox.post(done::countDown, pool);
+		// Un Error termina el hilo del pool, pero el buzón queda libre para el siguiente
+		mailbox.post(() -> {
+			throw new AssertionError("error de prueba");
+		}, pool);
+		mailbox.post(done::countDown, pool);
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void yieldsTheThreadToOtherRoomsAfterABatch() throws InterruptedException {
+		ExecutorService single = Executors.newSingleThreadExecutor();
+		try {
+			RoomMailbox busy = new RoomMailbox();
+			RoomMailbox other = new RoomMailbox();
+			List<String> order = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch start = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(101);
+
+			single.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			for (int i = 0; i < 100; i++) {
+				busy.post(() -> {
+					order.add("busy");
+					done.countDown();
+				}, single);
+			}
+			other.post(() -> {
+				order.add("other");
+				done.countDown();
+			}, single);
+			start.countDown();
+
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertTrue(order.indexOf("other") < 99, "la otra sala espera a las 100 tareas");
+		} finally {
+			single.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.sjo.checkers.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+	@Test
+	void firesAfterDelayCascadingThroughLevels() throws InterruptedException {
+		// 4 ranuras por nivel de 5 ms: 120 ms empiezan en el tercer nivel
+		try (TimerWheel wheel = new TimerWheel("test-timers", 5, 4)) {
+			CountDownLatch fired = new CountDownLatch(1);
+			long start = System.nanoTime();
+			wheel.schedule(fired::countDown, 120);
+
+			assertTrue(fired.await(2, TimeUnit.SECONDS));
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 115);
+		}
+	}
+
+	@Test
+	void delayBeyondRangeIsPlacedAgain() throws InterruptedException {
+		// 4 ranuras por nivel de 1 ms: la rueda alcanza 255 ms
+		try (TimerWheel wheel = new TimerWheel("test-timers", 1, 4)) {
+			CountDownLatch fired = new CountDownLatch(1);
+			long start = System.nanoTime();
+			wheel.schedule(fired::countDown, 600);
+
+			assertTrue(fired.await(3, TimeUnit.SECONDS));
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 595);
+		}
+	}
+
+	@Test
+	void cancelledTimeoutNeverFires() throws InterruptedException {
+		try (TimerWheel wheel = new TimerWheel("test-timers", 5, 8)) {
+			AtomicInteger fired = new AtomicInteger();
+			TimerWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, 30);
+			CountDownLatch later = new CountDownLatch(1);
+			wheel.schedule(later::countDown, 60);
+
+			assertTrue(timeout.cancel());
+			assertFalse(timeout.cancel());
+			assertTrue(later.await(2, TimeUnit.SECONDS));
+			assertEquals(0, fired.get());
+			assertFalse(timeout.isPending());
+		}
+	}
+
+	@Test
+	void manyTimeoutsAllFireOnce() throws InterruptedException {
+		try (TimerWheel wheel = new TimerWheel("test-timers", 2, 16)) {
+			int count = 10_000;
+			AtomicInteger fired = new AtomicInteger();
+			CountDownLatch done = new CountDownLatch(count);
+			for (int i = 0; i < count; i++) {
+				wheel.schedule(() -> {
+					fired.incrementAndGet();
+					done.countDown();
+				}, i % 100);
+			}
+
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertEquals(count, fired.get());
+			assertEquals(0, wheel.size());
+		}
+	}
+}
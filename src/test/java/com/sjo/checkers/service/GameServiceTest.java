@@ -0,0 +1,152 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServiceTest {
+
+	private final GameService gameService = new GameService();
+
+	@Test
+	void thirdRepetitionIsADrawAndLaterMovesAreRejected() {
+		Game game = game(king(7, 0, PieceColor.WHITE), king(0, 7, PieceColor.BLACK));
+
+		// Las dos damas van y vuelven: la posición inicial se repite tras 4 y 8 medios movimientos
+		for (int cycle = 0; cycle < 2; cycle++) {
+			play(game, 7, 0, 6, 1);
+			play(game, 0, 7, 1, 6);
+			play(game, 6, 1, 7, 0);
+			assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+			play(game, 1, 6, 0, 7);
+		}
+		assertEquals(GameStatus.DRAW, game.getStatus());
+		assertEquals(DrawReason.REPETITION, game.getDrawReason());
+		assertNull(game.getWinner());
+
+		// Sigue habiendo movimientos legales, pero la partida ha terminado
+		BitBoard before = game.getBoard().getBits().copy();
+		int version = game.getVersion();
+		assertTrue(game.getLegalMoveCount() > 0);
+		assertFalse(gameService.executeMove(game, move(7, 0, 6, 1)));
+		assertFalse(gameService.executePath(game, List.of(new Move.Position(7, 0), new Move.Position(6, 1))));
+		assertEquals(before, game.getBoard().getBits());
+		assertEquals(version, game.getVersion());
+		assertEquals(GameStatus.DRAW, game.getStatus());
+	}
+
+	@Test
+	void eightyPliesWithoutCapturesOrManMovesIsADraw() {
+		// Cada dama recorre un ciclo distinto (6 y 8 casillas): ninguna posición aparece tres veces antes de 96 medios movimientos
+		int[][] white = {{4, 1}, {5, 2}, {6, 3}, {7, 2}, {6, 1}, {5, 0}};
+		int[][] black = {{0, 5}, {1, 6}, {2, 7}, {3, 6}, {4, 5}, {3, 4}, {2, 3}, {1, 4}};
+		Game game = game(king(4, 1, PieceColor.WHITE), king(0, 5, PieceColor.BLACK));
+
+		for (int ply = 0; ply < 80; ply++) {
+			assertEquals(GameStatus.IN_PROGRESS, game.getStatus(), "medio movimiento " + ply);
+			int[][] cycle = ply % 2 == 0 ? white : black;
+			int step = ply / 2;
+			int[] from = cycle[step % cycle.length];
+			int[] to = cycle[(step + 1) % cycle.length];
+			play(game, from[0], from[1], to[0], to[1]);
+			assertEquals(ply + 1, game.getPliesWithoutProgress());
+		}
+		assertEquals(GameStatus.DRAW, game.getStatus());
+		assertEquals(DrawReason.NO_PROGRESS, game.getDrawReason());
+	}
+
+	@Test
+	void manMoveAndCaptureStartTheCountAgain() {
+		Game game = game(king(7, 0, PieceColor.WHITE), man(6, 5, PieceColor.WHITE), king(0, 7, PieceColor.BLACK));
+		play(game, 7, 0, 6, 1);
+		play(game, 0, 7, 1, 6);
+		assertEquals(2, game.getPliesWithoutProgress());
+		play(game, 6, 5, 5, 4);
+		assertEquals(0, game.getPliesWithoutProgress());
+
+		// La dama blanca se acerca a un peón negro que no puede capturar hacia atrás
+		game = game(king(3, 0, PieceColor.WHITE), man(6, 3, PieceColor.BLACK), king(0, 7, PieceColor.BLACK));
+		play(game, 3, 0, 4, 1);
+		play(game, 0, 7, 1, 6);
+		play(game, 4, 1, 5, 2);
+		play(game, 1, 6, 0, 7);
+		assertEquals(4, game.getPliesWithoutProgress());
+		play(game, 5, 2, 7, 4);
+		assertEquals(0, game.getPliesWithoutProgress());
+		assertEquals(0, game.getBoard().getBits().men(PieceColor.BLACK));
+		assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+	}
+
+	@Test
+	void pathIllegalPartwayLeavesTheGameUntouched() {
+		Game game = game(man(6, 1, PieceColor.WHITE), man(5, 2, PieceColor.BLACK), man(3, 4, PieceColor.BLACK),
+				king(0, 7, PieceColor.BLACK));
+		BitBoard before = game.getBoard().getBits().copy();
+
+		// El primer salto es legal, el segundo no (no hay ficha en (3,2))
+		assertFalse(gameService.executePath(game, path(6, 1, 4, 3, 2, 1)));
+		// Se para a mitad de la captura múltiple
+		assertFalse(gameService.executePath(game, path(6, 1, 4, 3)));
+		// Sigue después de terminar la captura
+		assertFalse(gameService.executePath(game, path(6, 1, 4, 3, 2, 5, 1, 6)));
+
+		assertEquals(before, game.getBoard().getBits());
+		assertEquals(0, game.getVersion());
+		assertEquals(PieceColor.WHITE, game.getCurrentTurn());
+		assertEquals(-1, game.getCapturingSquare());
+
+		assertTrue(gameService.executePath(game, path(6, 1, 4, 3, 2, 5)));
+		assertEquals(2, game.getVersion());
+		assertEquals(PieceColor.BLACK, game.getCurrentTurn());
+		assertEquals(0, game.getBoard().getBits().men(PieceColor.BLACK));
+	}
+
+	private static List<Move.Position> path(int... coordinates) {
+		List<Move.Position> path = new ArrayList<>();
+		for (int i = 0; i < coordinates.length; i += 2) {
+			path.add(new Move.Position(coordinates[i], coordinates[i + 1]));
+		}
+		return path;
+	}
+
+	private void play(Game game, int fromRow, int fromCol, int toRow, int toCol) {
+		assertTrue(gameService.executeMove(game, move(fromRow, fromCol, toRow, toCol)),
+				"(" + fromRow + "," + fromCol + ") -> (" + toRow + "," + toCol + ")");
+	}
+
+	private static Move move(int fromRow, int fromCol, int toRow, int toCol) {
+		return new Move(fromRow, fromCol, toRow, toCol, null, null);
+	}
+
+	private record Placed(int row, int col, PieceColor color, boolean king) {
+	}
+
+	private static Placed king(int row, int col, PieceColor color) {
+		return new Placed(row, col, color, true);
+	}
+
+	private static Placed man(int row, int col, PieceColor color) {
+		return new Placed(row, col, color, false);
+	}
+
+	/**
+	 * Partida en curso con solo las fichas indicadas; juegan las blancas
+	 */
+	private static Game game(Placed... pieces) {
+		BitBoard bits = new BitBoard();
+		for (Placed piece : pieces) {
+			bits.put(BitBoard.square(piece.row(), piece.col()), piece.color(), piece.king());
+		}
+		Game game = new Game();
+		game.setBoard(new Board(bits));
+		game.setWhitePlayer(new Player("Blancas", "s1"));
+		game.setBlackPlayer(new Player("Negras", "s2"));
+		game.setStatus(GameStatus.IN_PROGRESS);
+		game.recordPosition(true);
+		return game;
+	}
+}
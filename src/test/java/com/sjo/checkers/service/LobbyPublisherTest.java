@@ -0,0 +1,85 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.dto.LobbyBatchResponse;
+import com.sjo.checkers.dto.LobbyEventResponse;
+import com.sjo.checkers.model.Room;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LobbyPublisherTest {
+
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final LobbyPublisher publisher = new LobbyPublisher(messagingTemplate);
+
+	@Test
+	void keepsOnlyTheLastChangeOfEachRoomPerBatch() {
+		Room first = new Room("primera", "a");
+		Room second = new Room("segunda", "b");
+		publisher.roomChanged(LobbyEventResponse.Type.ADDED, first);
+		publisher.roomChanged(LobbyEventResponse.Type.UPDATED, first);
+		publisher.roomChanged(LobbyEventResponse.Type.FILLED, first);
+		publisher.roomChanged(LobbyEventResponse.Type.ADDED, second);
+
+		publisher.flush();
+
+		List<LobbyBatchResponse> batches = sentBatches(1);
+		assertEquals(1, batches.getFirst().getSequence());
+		assertEquals(1, publisher.getSequence());
+		List<LobbyEventResponse> events = batches.getFirst().getEvents();
+		assertEquals(2, events.size());
+		for (LobbyEventResponse event : events) {
+			LobbyEventResponse.Type expected = event.getRoom().getRoomId().equals(first.getId()) ?
+					LobbyEventResponse.Type.FILLED : LobbyEventResponse.Type.ADDED;
+			assertEquals(expected, event.getType());
+		}
+	}
+
+	@Test
+	void emptyIntervalSendsNothingAndKeepsTheSequence() {
+		publisher.flush();
+		verifyNoInteractions(messagingTemplate);
+		assertEquals(0, publisher.getSequence());
+
+		publisher.roomChanged(LobbyEventResponse.Type.ADDED, new Room("sala", "a"));
+		publisher.flush();
+		publisher.flush();
+		assertEquals(1, sentBatches(1).size());
+		assertEquals(1, publisher.getSequence());
+	}
+
+	@Test
+	void splitsLargeIntervalsIntoNumberedBatches() {
+		for (int i = 0; i < 250; i++) {
+			Room room = new Room("sala " + i, "a");
+			room.setId("R" + i); // Los ID aleatorios cortos podrían repetirse
+			publisher.roomChanged(LobbyEventResponse.Type.ADDED, room);
+		}
+
+		publisher.flush();
+
+		List<LobbyBatchResponse> batches = sentBatches(3);
+		Set<String> rooms = new HashSet<>();
+		for (int i = 0; i < batches.size(); i++) {
+			assertEquals(i + 1, batches.get(i).getSequence());
+			assertTrue(batches.get(i).getEvents().size() <= 100);
+			batches.get(i).getEvents().forEach(event -> rooms.add(event.getRoom().getRoomId()));
+		}
+		assertEquals(250, rooms.size());
+		assertEquals(3, publisher.getSequence());
+	}
+
+	private List<LobbyBatchResponse> sentBatches(int count) {
+		ArgumentCaptor<LobbyBatchResponse> captor = ArgumentCaptor.forClass(LobbyBatchResponse.class);
+		verify(messagingTemplate, times(count)).convertAndSend(eq(LobbyPublisher.DESTINATION), captor.capture());
+		return captor.getAllValues();
+	}
+}
@@ -0,0 +1,48 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.model.GameStatus;
+import com.sjo.checkers.model.Player;
+import com.sjo.checkers.model.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class PdnArchiveTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void finishedGamesOutliveTheRoomsAndRestarts() throws Exception {
+		PdnArchive archive = new PdnArchive(mock(RoomService.class), directory.toString());
+		archive.archive(drawnRoom("sala uno"));
+		archive.archive(drawnRoom("sala dos"));
+		archive.close();
+
+		// Las salas ya no están en memoria: las partidas salen del fichero
+		PdnArchive reopened = new PdnArchive(mock(RoomService.class), directory.toString());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		reopened.copyTo(out);
+		reopened.close();
+
+		String pdn = out.toString(StandardCharsets.UTF_8);
+		assertTrue(pdn.indexOf("[Event \"sala uno\"]") < pdn.indexOf("[Event \"sala dos\"]"));
+		assertTrue(pdn.startsWith("[Event \"sala uno\"]"));
+		assertEquals(2, pdn.split("\\[Result \"1/2-1/2\"]").length - 1);
+	}
+
+	private static Room drawnRoom(String name) {
+		Room room = new Room(name, "c");
+		room.addPlayer(new Player("ana", "s1"));
+		room.addPlayer(new Player("luis", "s2"));
+		room.getGame().setStatus(GameStatus.DRAW);
+		return room;
+	}
+}
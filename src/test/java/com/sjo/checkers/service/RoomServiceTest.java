@@ -0,0 +1,215 @@
+package com.sjo.checkers.service;
+
+import com.sjo.checkers.model.*;
+import com.sjo.checkers.scheduler.TimerWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RoomServiceTest {
+
+	private final TimerWheel timerWheel = new TimerWheel("test-timers", 100, 64);
+	private final RoomExecutor roomExecutor = mock(RoomExecutor.class);
+	private final RoomJournal roomJournal = mock(RoomJournal.class);
+	private final RoomService roomService = new RoomService(new LobbyPublisher(mock(SimpMessagingTemplate.class)),
+			roomExecutor, timerWheel, roomJournal);
+
+	{
+		ReflectionTestUtils.setField(roomService, "waitingTtlMinutes", 30L);
+		ReflectionTestUtils.setField(roomService, "idleTtlMinutes", 60L);
+		ReflectionTestUtils.setField(roomService, "finishedTtlMinutes", 5L);
+	}
+
+	@AfterEach
+	void closeTimers() {
+		timerWheel.close();
+	}
+
+	@Test
+	void seatIndexFollowsJoinLeaveAndRemove() {
+		Player ana = new Player("ana", "s1");
+		Room room = roomService.createRoom("sala", ana);
+		assertEquals(new RoomService.Seat(room.getId(), PieceColor.WHITE), roomService.getSeat("s1"));
+
+		Player luis = new Player("luis", "s2");
+		assertTrue(roomService.joinRoom(room.getId(), luis));
+		assertEquals(new RoomService.Seat(room.getId(), PieceColor.BLACK), roomService.getSeat("s2"));
+		assertSame(luis, roomService.getPlayerBySessionId(room.getId(), "s2"));
+		assertNull(roomService.getPlayerBySessionId("OTRA", "s2"));
+
+		// Sala llena: la tercera sesión no entra en el índice
+		assertFalse(roomService.joinRoom(room.getId(), new Player("eva", "s3")));
+		assertNull(roomService.getSeat("s3"));
+
+		roomService.leaveSeat(room, luis);
+		assertNull(roomService.getSeat("s2"));
+		assertNull(roomService.getPlayerBySessionId(room.getId(), "s2"));
+		assertNotNull(roomService.getSeat("s1"));
+
+		assertEquals(new RoomService.Seat(room.getId(), PieceColor.WHITE), roomService.releaseSession("s1"));
+		assertNull(roomService.getSeat("s1"));
+
+		Player eva = new Player("eva", "s3");
+		assertTrue(roomService.joinRoom(room.getId(), eva));
+		List<Room> removed = new ArrayList<>();
+		roomService.onRoomRemoved(removed::add);
+		roomService.removeRoom(room.getId());
+		assertNull(roomService.getSeat("s3"));
+		assertEquals(List.of(room), removed);
+		// Borrarla otra vez no avisa de nuevo
+		roomService.removeRoom(room.getId());
+		assertEquals(1, removed.size());
+	}
+
+	@Test
+	void roomCreatedWithEmptySeatsJournalsNoPlayer() {
+		Room room = roomService.createRoom("sala", "creador", false, null);
+		assertEquals("creador", room.getCreatorId());
+		assertTrue(room.isEmpty());
+		assertEquals(List.of(room), roomService.getOpenRooms(null, 10, null, false).rooms());
+		verify(roomJournal).roomCreated(room);
+		verify(roomJournal, never()).playerJoined(any(), any());
+		verify(roomJournal, never()).playerLeft(any(), any());
+
+		// El creador se sienta después, como cualquier otro jugador
+		Player ana = new Player("ana", "s1");
+		assertTrue(roomService.joinRoom(room.getId(), ana));
+		assertEquals(PieceColor.WHITE, ana.getColor());
+	}
+
+	@Test
+	void botsAreNotIndexedAndStaleSessionsDoNotMatch() {
+		Room room = roomService.createRoom("sala", new Player("ana", "s1"), true);
+		Player bot = new Player("Computadora", "bot-1");
+		bot.setBot(true);
+		assertTrue(roomService.joinRoom(room.getId(), bot));
+		assertNull(roomService.getSeat("bot-1"));
+
+		// El asiento indexado ya no es de esa sesión (ha cambiado el jugador)
+		room.getGame().getWhitePlayer().setSessionId("s9");
+		assertNull(roomService.getPlayerBySessionId(room.getId(), "s1"));
+	}
+
+	@Test
+	void reclaimedSeatIsIndexedForTheNewSession() {
+		Room room = new Room("sala", "creador");
+		Player ana = new Player("ana", null);
+		room.addPlayer(ana);
+		room.addPlayer(new Player("luis", null));
+		roomService.restoreRoom(room);
+		assertNull(roomService.getSeat("s1"));
+
+		// El apodo no sirve para quedarse con el asiento, hace falta el token
+		assertNull(roomService.reclaimSeat(room, "ana", "s9"));
+		assertNull(roomService.reclaimSeat(room, null, "s9"));
+		assertNull(roomService.getSeat("s9"));
+
+		Player reclaimed = roomService.reclaimSeat(room, ana.getReconnectToken(), "s1");
+		assertSame(ana, reclaimed);
+		assertEquals(new RoomService.Seat(room.getId(), PieceColor.WHITE), roomService.getSeat("s1"));
+		assertSame(ana, roomService.getPlayerBySessionId(room.getId(), "s1"));
+		// Un asiento con sesión no se puede volver a recuperar
+		assertNull(roomService.reclaimSeat(room, ana.getReconnectToken(), "s2"));
+	}
+
+	@Test
+	void runningClockKeepsAnIdleGameAlive() throws InterruptedException {
+		// Los temporizadores de caducidad se ejecutan directamente, sin buzón
+		doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(1).run();
+			return null;
+		}).when(roomExecutor).execute(any(Room.class), any(Runnable.class));
+		ReflectionTestUtils.setField(roomService, "idleTtlMinutes", 0L);
+
+		Room untimed = startedRoom(null);
+		Room timed = startedRoom(new GameClock(3_600_000, 0));
+		timed.getGame().getClock().start(System.currentTimeMillis());
+		roomService.restoreRoom(untimed);
+		roomService.restoreRoom(timed);
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (roomService.getRoom(untimed.getId()) != null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertNull(roomService.getRoom(untimed.getId()));
+		Thread.sleep(300);
+		// Le queda una hora de reloj al jugador con el turno
+		assertSame(timed, roomService.getRoom(timed.getId()));
+	}
+
+	@Test
+	void gameOverIsAnnouncedOnce() {
+		Room room = roomService.createRoom("sala", new Player("ana", "s1"));
+		assertTrue(roomService.joinRoom(room.getId(), new Player("luis", "s2")));
+		List<Room> over = new ArrayList<>();
+		roomService.onGameOver(over::add);
+
+		roomService.refreshExpiry(room);
+		assertTrue(over.isEmpty());
+
+		room.getGame().setStatus(GameStatus.ABANDONED);
+		roomService.refreshExpiry(room);
+		roomService.refreshExpiry(room);
+		assertEquals(List.of(room), over);
+	}
+
+	private static Room startedRoom(GameClock clock) {
+		Room room = new Room("sala", "creador");
+		room.getGame().setClock(clock);
+		room.addPlayer(new Player("ana", null));
+		room.addPlayer(new Player("luis", null));
+		return room;
+	}
+
+	@Test
+	void openRoomsArePagedByCursorInCreationOrder() {
+		Room[] created = new Room[5];
+		for (int i = 0; i < created.length; i++) {
+			created[i] = roomService.createRoom("sala " + i, new Player("p" + i, "s" + i));
+		}
+
+		RoomService.RoomPage first = roomService.getOpenRooms(null, 2, null, false);
+		assertEquals(List.of(created[0], created[1]), first.rooms());
+		assertEquals(created[1].getSequence(), first.nextCursor());
+
+		RoomService.RoomPage second = roomService.getOpenRooms(first.nextCursor(), 2, null, false);
+		assertEquals(List.of(created[2], created[3]), second.rooms());
+
+		RoomService.RoomPage last = roomService.getOpenRooms(second.nextCursor(), 2, null, false);
+		assertEquals(List.of(created[4]), last.rooms());
+		assertNull(last.nextCursor());
+
+		// Exactamente una página llena: no hay cursor siguiente
+		assertNull(roomService.getOpenRooms(null, 5, null, false).nextCursor());
+	}
+
+	@Test
+	void openIndexDropsFullRemovedAndComputerRooms() {
+		Room full = roomService.createRoom("llena", new Player("ana", "s1"));
+		Room removed = roomService.createRoom("borrada", new Player("luis", "s2"));
+		roomService.createRoom("contra la computadora", new Player("eva", "s3"), true);
+		Room open = roomService.createRoom("Abierta", new Player("leo", "s4"));
+
+		assertTrue(roomService.joinRoom(full.getId(), new Player("rival", "s5")));
+		roomService.removeRoom(removed.getId());
+		assertEquals(List.of(open), roomService.getOpenRooms(null, 10, null, false).rooms());
+
+		// Vuelve al listado cuando alguien deja el asiento
+		Player rival = full.getGame().getBlackPlayer();
+		roomService.leaveSeat(full, rival);
+		assertEquals(List.of(full, open), roomService.getOpenRooms(null, 10, null, false).rooms());
+
+		// Filtros: nombre sin distinguir mayúsculas y solo salas con alguien esperando
+		assertEquals(List.of(open), roomService.getOpenRooms(null, 10, "abier", false).rooms());
+		roomService.leaveSeat(open, open.getGame().getWhitePlayer());
+		assertEquals(List.of(full), roomService.getOpenRooms(null, 10, null, true).rooms());
+	}
+}